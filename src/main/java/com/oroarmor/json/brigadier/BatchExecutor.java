@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * Executes batches of commands, like function files, against a dispatcher. Identical inputs in a batch are only parsed once,
+ * and successful parses are shared between batches with a {@link ParseCache}. Batches run by sources with the same fingerprint
+ * share parses, so the fingerprint must capture every permission the requirements of the commands check.
+ *
+ * @param <S> The source type for the dispatcher
+ */
+public final class BatchExecutor<S> {
+    private final ParseCache<S> cache;
+
+    /**
+     * Creates a batch executor that caches up to 1024 parses
+     *
+     * @param dispatcher  The dispatcher to execute commands with
+     * @param fingerprint The function that creates the fingerprint of a source, which must capture every permission the requirements check
+     */
+    public BatchExecutor(CommandDispatcher<S> dispatcher, Function<S, Object> fingerprint) {
+        this(dispatcher, 1024, fingerprint);
+    }
+
+    /**
+     * Creates a batch executor
+     *
+     * @param dispatcher  The dispatcher to execute commands with
+     * @param maximumSize The maximum number of parses to cache
+     * @param fingerprint The function that creates the fingerprint of a source, which must capture every permission the requirements check
+     */
+    public BatchExecutor(CommandDispatcher<S> dispatcher, int maximumSize, Function<S, Object> fingerprint) {
+        this(new ParseCache<>(dispatcher, maximumSize, fingerprint));
+    }
+
+    /**
+     * Creates a batch executor that shares a parse cache
+     *
+     * @param cache The cache for the dispatcher to execute commands with
+     */
+    public BatchExecutor(ParseCache<S> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Removes all cached parses
+     */
+    public void invalidate() {
+        cache.invalidate();
+    }
+
+    /**
+     * Parses and executes the commands in order. A command that fails, either with a syntax error or by throwing, does not stop the batch.
+     *
+     * @param commands The commands to execute
+     * @param source   The source to execute the commands as
+     * @return The results and timings of the batch
+     */
+    public Results execute(List<String> commands, S source) {
+        long start = System.nanoTime();
+        Map<String, ParseResults<S>> parsed = new HashMap<>();
+        int[] results = new int[commands.size()];
+        Map<Integer, Exception> failures = new LinkedHashMap<>();
+        int cacheHits = 0;
+        long parseNanos = 0;
+        long executeNanos = 0;
+
+        for (int i = 0; i < commands.size(); i++) {
+            String command = commands.get(i);
+            long parseStart = System.nanoTime();
+            ParseResults<S> parse = parsed.get(command);
+            if (parse == null) {
+                parse = cache.getCached(command, source);
+                if (parse != null) {
+                    cacheHits++;
+                } else {
+                    parse = cache.parseUncached(command, source);
+                }
+                parsed.put(command, parse);
+            }
+            long executeStart = System.nanoTime();
+            parseNanos += executeStart - parseStart;
+
+            try {
+                results[i] = cache.getDispatcher().execute(parse);
+            } catch (CommandSyntaxException | RuntimeException e) {
+                failures.put(i, e);
+            }
+            executeNanos += System.nanoTime() - executeStart;
+        }
+
+        return new Results(results, failures, parsed.size(), cacheHits, parseNanos, executeNanos, System.nanoTime() - start);
+    }
+
+    /**
+     * The results and timings of a batch
+     */
+    public static final class Results {
+        private final int[] results;
+        private final Map<Integer, Exception> failures;
+        private final int uniqueInputs;
+        private final int cacheHits;
+        private final long parseNanos;
+        private final long executeNanos;
+        private final long totalNanos;
+
+        private Results(int[] results, Map<Integer, Exception> failures, int uniqueInputs, int cacheHits, long parseNanos, long executeNanos, long totalNanos) {
+            this.results = results;
+            this.failures = Collections.unmodifiableMap(failures);
+            this.uniqueInputs = uniqueInputs;
+            this.cacheHits = cacheHits;
+            this.parseNanos = parseNanos;
+            this.executeNanos = executeNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * @param index The index of the command in the batch
+         * @return The result of the command, or 0 if it failed
+         */
+        public int getResult(int index) {
+            return results[index];
+        }
+
+        /**
+         * @return The {@link CommandSyntaxException}s or runtime exceptions of the commands that failed, by their index in the batch
+         */
+        public Map<Integer, Exception> getFailures() {
+            return failures;
+        }
+
+        public int getCommands() {
+            return results.length;
+        }
+
+        public int getUniqueInputs() {
+            return uniqueInputs;
+        }
+
+        public int getCacheHits() {
+            return cacheHits;
+        }
+
+        public long getParseNanos() {
+            return parseNanos;
+        }
+
+        public long getExecuteNanos() {
+            return executeNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d commands (%d unique, %d cached), %d failed, parse %.3fms, execute %.3fms, total %.3fms",
+                    results.length, uniqueInputs, cacheHits, failures.size(), parseNanos / 1e6, executeNanos / 1e6, totalNanos / 1e6);
+        }
+    }
+}
@@ -29,6 +29,10 @@ import java.util.Map;
 
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.arguments.*;
+import com.oroarmor.json.brigadier.arguments.FastDoubleArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastFloatArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastIntegerArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastLongArgumentType;
 import com.oroarmor.json.brigadier.parsers.BrigadierToJsonParsers;
 
 /**
@@ -45,6 +49,10 @@ public final class BrigadierArgumentParsers {
         register(FloatArgumentType.class, BrigadierToJsonParsers::parseFloat);
         register(StringArgumentType.class, BrigadierToJsonParsers::parseString);
         register(LongArgumentType.class, BrigadierToJsonParsers::parseLong);
+        register(FastIntegerArgumentType.class, BrigadierToJsonParsers::parseFastInteger);
+        register(FastLongArgumentType.class, BrigadierToJsonParsers::parseFastLong);
+        register(FastDoubleArgumentType.class, BrigadierToJsonParsers::parseFastDouble);
+        register(FastFloatArgumentType.class, BrigadierToJsonParsers::parseFastFloat);
     }
 
     /**
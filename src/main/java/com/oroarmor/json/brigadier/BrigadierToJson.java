@@ -24,14 +24,27 @@
 
 package com.oroarmor.json.brigadier;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.tree.ArgumentCommandNode;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 
 /**
  * Parses Brigadier commands into JSON
@@ -39,11 +52,21 @@ import com.mojang.brigadier.tree.LiteralCommandNode;
 public final class BrigadierToJson {
     private static final JsonObject ROOT_ARGUMENT;
 
+    private static final Predicate<Object> DEFAULT_REQUIREMENT = LiteralArgumentBuilder.literal("").getRequirement();
+
     static {
         ROOT_ARGUMENT = new JsonObject();
         ROOT_ARGUMENT.addProperty(StringConstants.TYPE, "brigadier:root");
     }
 
+    /**
+     * @return The requirement that every builder starts with, which nodes without a {@code requires} have
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> defaultRequirement() {
+        return (Predicate<T>) (Predicate<?>) DEFAULT_REQUIREMENT;
+    }
+
     /**
      * Parses a {@link com.mojang.brigadier.CommandDispatcher} into JSON. The root command is listed.
      *
@@ -53,12 +76,15 @@ public final class BrigadierToJson {
      */
     public static <T> JsonObject parseObject(CommandDispatcher<T> dispatcher) {
         JsonObject root = new JsonObject();
-        root.addProperty(StringConstants.NAME, "__root__");
+        root.addProperty(StringConstants.NAME, StringConstants.ROOT);
         root.add(StringConstants.ARGUMENT, ROOT_ARGUMENT);
 
+        Map<CommandNode<T>, String> paths = findPaths(dispatcher.getRoot().getChildren());
+        paths.put(dispatcher.getRoot(), StringConstants.ROOT);
+
         JsonArray array = new JsonArray();
         for (CommandNode<T> commandNode : dispatcher.getRoot().getChildren()) {
-            array.add(parseObject(commandNode));
+            array.add(parseObject(commandNode, paths));
         }
         root.add(StringConstants.CHILDREN, array);
 
@@ -73,7 +99,7 @@ public final class BrigadierToJson {
      * @return An string of JSON
      */
     public static <T> String parse(CommandDispatcher<T> dispatcher) {
-        return parse(dispatcher).toString();
+        return parseObject(dispatcher).toString();
     }
 
     /**
@@ -82,6 +108,7 @@ public final class BrigadierToJson {
      * @param node The command node to convert to JSON
      * @param <T>  The command context type
      * @return An {@link ArgumentBuilder} for the JSON file
+     * @throws IllegalArgumentException If the command redirects to a node outside of it, other than the root
      */
     public static <T> String parse(CommandNode<T> node) {
         return parseObject(node).toString();
@@ -93,8 +120,59 @@ public final class BrigadierToJson {
      * @param node The command node to convert to JSON
      * @param <T>  The command context type
      * @return An {@link ArgumentBuilder} for the JSON file
+     * @throws IllegalArgumentException If the command redirects to a node outside of it, other than the root
      */
     public static <T> JsonObject parseObject(CommandNode<T> node) {
+        Map<CommandNode<T>, String> paths = findPaths(List.of(node));
+        // The root is not part of the command, but redirects to it are loaded when the command is registered
+        for (CommandNode<T> target : findRedirects(node)) {
+            if (target instanceof RootCommandNode) {
+                paths.put(target, StringConstants.ROOT);
+            }
+        }
+        return parseObject(node, paths);
+    }
+
+    /**
+     * Finds the shortest path to every node below the commands, which is used to write redirects as references to their target
+     */
+    private static <T> Map<CommandNode<T>, String> findPaths(Collection<CommandNode<T>> commands) {
+        Map<CommandNode<T>, String> paths = new IdentityHashMap<>();
+        Deque<CommandNode<T>> queue = new ArrayDeque<>();
+        for (CommandNode<T> command : commands) {
+            paths.put(command, command.getName());
+            queue.add(command);
+        }
+
+        while (!queue.isEmpty()) {
+            CommandNode<T> node = queue.poll();
+            for (CommandNode<T> child : node.getChildren()) {
+                if (!paths.containsKey(child)) {
+                    paths.put(child, paths.get(node) + " " + child.getName());
+                    queue.add(child);
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static <T> List<CommandNode<T>> findRedirects(CommandNode<T> command) {
+        List<CommandNode<T>> redirects = new ArrayList<>();
+        Set<CommandNode<T>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<CommandNode<T>> queue = new ArrayDeque<>(List.of(command));
+        while (!queue.isEmpty()) {
+            CommandNode<T> node = queue.poll();
+            if (visited.add(node)) {
+                if (node.getRedirect() != null) {
+                    redirects.add(node.getRedirect());
+                }
+                queue.addAll(node.getChildren());
+            }
+        }
+        return redirects;
+    }
+
+    private static <T> JsonObject parseObject(CommandNode<T> node, Map<CommandNode<T>, String> paths) {
         JsonObject object = new JsonObject();
         object.addProperty(StringConstants.NAME, node.getName());
 
@@ -111,11 +189,22 @@ public final class BrigadierToJson {
         if (node.getChildren().size() > 0) {
             JsonArray array = new JsonArray();
             for (CommandNode<T> commandNode : node.getChildren()) {
-                array.add(parseObject(commandNode));
+                array.add(parseObject(commandNode, paths));
             }
             object.add(StringConstants.CHILDREN, array);
         }
 
+        if (node.getRedirect() != null) {
+            String path = paths.get(node.getRedirect());
+            if (path == null) {
+                throw new IllegalArgumentException("Command " + node.getName() + " redirects to " + node.getRedirect().getName() + ", which is not part of the exported commands. Export the dispatcher instead");
+            }
+            object.addProperty(StringConstants.REDIRECT, path);
+            if (node.isFork()) {
+                object.addProperty(StringConstants.FORK, true);
+            }
+        }
+
         if (node.getCommand() != null) {
             String value = node.getCommand().toString();
             if (value.matches("[\\w\\.]*::\\w*")) {
@@ -125,13 +214,18 @@ public final class BrigadierToJson {
             }
         }
 
-        if (node.getRequirement() != null) {
+        // Nodes without a requirement have the builder's default, which is not written
+        if (node.getRequirement() != null && node.getRequirement() != defaultRequirement()) {
             String value = node.getRequirement().toString();
             if (value.matches("[\\w\\.]*::\\w*")) {
                 object.addProperty(StringConstants.REQUIRES, value);
             } else {
                 object.addProperty(StringConstants.REQUIRES, "Unable to parse method. Method is in class " + value.split("\\$\\$")[0]);
             }
+
+            if (node.getRequirement() instanceof RequirementCache.CachedPredicate) {
+                object.addProperty(StringConstants.CACHE_REQUIRES, true);
+            }
         }
 
         return object;
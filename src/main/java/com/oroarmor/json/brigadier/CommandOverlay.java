@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+/**
+ * Creates dispatchers that share the commands of a base dispatcher, with extra commands added on top. This is useful for
+ * many instances that load the same commands with a few additions each, as only the nodes that change are copied.
+ * <p>
+ * Commands from the overlay are merged into the base the same way {@link CommandDispatcher#register(LiteralArgumentBuilder)} merges them.
+ * The nodes on the path to a merged command are copied, as are nodes that redirect to a copied node, like the {@code execute run}
+ * redirect to the root. Every other node is shared with the base, so the base dispatcher should not be changed after it is overlaid.
+ * <p>
+ * The shared nodes of the new dispatcher are read only. New commands can still be registered to it, but registering a command
+ * that merges into a node shared with the base throws an {@link IllegalArgumentException}, as it would change the base and every
+ * other overlay of it. Commands like that should be in the overlay instead.
+ */
+public final class CommandOverlay {
+    /**
+     * Creates a dispatcher with the commands of the base and the overlay. Neither dispatcher is changed.
+     * Commands registered to the new dispatcher cannot merge into nodes that are shared with the base.
+     *
+     * @param base    The dispatcher with the shared commands
+     * @param overlay The dispatcher with the extra commands
+     * @param <T>     The command context type
+     * @return The new dispatcher
+     */
+    public static <T> CommandDispatcher<T> overlay(CommandDispatcher<T> base, CommandDispatcher<T> overlay) {
+        OverlayRootCommandNode<T> root = new OverlayRootCommandNode<>();
+        Map<CommandNode<T>, CommandNode<T>> copies = new IdentityHashMap<>();
+        copies.put(base.getRoot(), root);
+        copies.put(overlay.getRoot(), root);
+
+        Set<CommandNode<T>> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        changed.add(base.getRoot());
+        changed.add(overlay.getRoot());
+        findMerged(base.getRoot(), overlay.getRoot(), changed);
+        findChanged(List.of(base.getRoot(), overlay.getRoot()), changed);
+
+        for (CommandNode<T> child : base.getRoot().getChildren()) {
+            root.addChild(copy(child, changed, copies));
+        }
+        // Merged children only change copies, as every node on the path to a merge is copied
+        for (CommandNode<T> child : overlay.getRoot().getChildren()) {
+            root.addChild(copy(child, changed, copies));
+        }
+        root.owned.addAll(copies.values());
+        root.guarded = true;
+
+        CommandDispatcher<T> dispatcher = new CommandDispatcher<>(root);
+        ParseCache.reloaded(dispatcher);
+        return dispatcher;
+    }
+
+    /**
+     * Creates a dispatcher with the commands of the base and the commands in a file
+     *
+     * @param base         The dispatcher with the shared commands
+     * @param path         The path to the JSON file with the extra commands
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @return The new dispatcher
+     * @see JsonToBrigadier#register(CommandDispatcher, Path, Class)
+     */
+    public static <T> CommandDispatcher<T> overlay(CommandDispatcher<T> base, Path path, Class<T> contextClass) {
+        CommandDispatcher<T> overlay = new CommandDispatcher<>();
+        JsonToBrigadier.register(overlay, path, contextClass);
+        return overlay(base, overlay);
+    }
+
+    /**
+     * Finds the base nodes that the overlay merges into
+     */
+    private static <T> void findMerged(CommandNode<T> base, CommandNode<T> overlay, Set<CommandNode<T>> changed) {
+        for (CommandNode<T> child : overlay.getChildren()) {
+            CommandNode<T> existing = base.getChild(child.getName());
+            if (existing != null) {
+                changed.add(existing);
+                findMerged(existing, child, changed);
+            }
+        }
+    }
+
+    /**
+     * Adds every node with a changed child or redirect target, until nothing else changes
+     */
+    static <T> void findChanged(List<CommandNode<T>> roots, Set<CommandNode<T>> changed) {
+        List<CommandNode<T>> nodes = new ArrayList<>();
+        Set<CommandNode<T>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<CommandNode<T>> queue = new ArrayList<>(roots);
+        while (!queue.isEmpty()) {
+            CommandNode<T> node = queue.remove(queue.size() - 1);
+            if (visited.add(node)) {
+                nodes.add(node);
+                queue.addAll(node.getChildren());
+                if (node.getRedirect() != null) {
+                    queue.add(node.getRedirect());
+                }
+            }
+        }
+
+        boolean updated = true;
+        while (updated) {
+            updated = false;
+            for (CommandNode<T> node : nodes) {
+                if (changed.contains(node)) {
+                    continue;
+                }
+                if (changed.contains(node.getRedirect()) || node.getChildren().stream().anyMatch(changed::contains)) {
+                    changed.add(node);
+                    updated = true;
+                }
+            }
+        }
+    }
+
+    private static <T> CommandNode<T> copy(CommandNode<T> node, Set<CommandNode<T>> changed, Map<CommandNode<T>, CommandNode<T>> copies) {
+        return copy(node, changed, copies, CommandNode::getChildren, CommandNode::getRequirement);
+    }
+
+    /**
+     * Copies a changed node and its changed descendants, adding the children given by the function to each copy
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CommandNode<T> copy(CommandNode<T> node, Set<CommandNode<T>> changed, Map<CommandNode<T>, CommandNode<T>> copies, Function<CommandNode<T>, Collection<CommandNode<T>>> children, Function<CommandNode<T>, Predicate<T>> requirement) {
+        if (!changed.contains(node)) {
+            return node;
+        }
+        CommandNode<T> copy = copies.get(node);
+        if (copy != null) {
+            return copy;
+        }
+
+        ArgumentBuilder<T, ?> builder;
+        if (node instanceof ArgumentCommandNode<T, ?> argument) {
+            builder = RequiredArgumentBuilder.<T, Object>argument(node.getName(), (ArgumentType<Object>) argument.getType()).suggests(argument.getCustomSuggestions());
+        } else {
+            builder = LiteralArgumentBuilder.literal(node.getName());
+        }
+        builder.executes(node.getCommand());
+        builder.requires(requirement.apply(node));
+
+        // Redirects cannot form a loop, so the target can be copied before this node
+        CommandNode<T> redirect = node.getRedirect() == null ? null : copy(node.getRedirect(), changed, copies, children, requirement);
+        if (copies.containsKey(node)) {
+            // A child of the target redirects back to this node, and already copied it
+            return copies.get(node);
+        }
+        builder.forward(redirect, node.getRedirectModifier(), node.isFork());
+
+        // Stored before the children are copied, so that children can redirect back to this node
+        copy = builder.build();
+        copies.put(node, copy);
+        for (CommandNode<T> child : children.apply(node)) {
+            copy.addChild(copy(child, changed, copies, children, requirement));
+        }
+        return copy;
+    }
+
+    /**
+     * The root of an overlaid dispatcher, which keeps commands from being merged into the nodes shared with the base
+     */
+    private static final class OverlayRootCommandNode<T> extends RootCommandNode<T> {
+        private final Set<CommandNode<T>> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean guarded;
+
+        @Override
+        public void addChild(CommandNode<T> node) {
+            if (guarded) {
+                checkMerge(this, node);
+                own(node);
+            }
+            super.addChild(node);
+        }
+
+        private void checkMerge(CommandNode<T> parent, CommandNode<T> node) {
+            CommandNode<T> existing = parent.getChild(node.getName());
+            if (existing == null) {
+                return;
+            }
+            if (!owned.contains(existing)) {
+                throw new IllegalArgumentException("Command " + node.getName() + " cannot be merged into a command that is shared with the base dispatcher");
+            }
+            for (CommandNode<T> child : node.getChildren()) {
+                checkMerge(existing, child);
+            }
+        }
+
+        private void own(CommandNode<T> node) {
+            if (owned.add(node)) {
+                for (CommandNode<T> child : node.getChildren()) {
+                    own(child);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+
+/**
+ * Publishes new versions of a command tree while other threads are executing commands. Brigadier's nodes are not thread safe,
+ * so instead of registering to the dispatcher that is in use, every reload builds a new dispatcher and swaps it in atomically.
+ * <p>
+ * Readers never block, and each call to {@link CommandPublisher#execute(String, Object)} parses and executes against a single
+ * version, so commands that are running when a reload is published finish with the old tree. A dispatcher must not be changed
+ * after it is published. Parses are not cached unless a cache size is passed to the constructor, as readers of a cached
+ * publisher share the lock of the version's {@link ParseCache}.
+ * <p>
+ * Reloads are published in the order they were started, so a reload that finishes after a later one is dropped.
+ *
+ * @param <T> The command context type
+ */
+public final class CommandPublisher<T> {
+    private final AtomicReference<Version<T>> current;
+    private final int cacheSize;
+    private final Function<T, Object> fingerprint;
+    private final AtomicLong reloads = new AtomicLong();
+    private long publishedReload;
+
+    /**
+     * Creates a publisher with an empty dispatcher
+     */
+    public CommandPublisher() {
+        this(new CommandDispatcher<>());
+    }
+
+    /**
+     * Creates a publisher that parses every command
+     *
+     * @param dispatcher The first dispatcher to publish
+     */
+    public CommandPublisher(CommandDispatcher<T> dispatcher) {
+        this(dispatcher, 0, null);
+    }
+
+    /**
+     * Creates a publisher that caches parses for each version. Readers of a cached publisher synchronize on the cache of the version.
+     *
+     * @param dispatcher  The first dispatcher to publish
+     * @param cacheSize   The maximum number of parses to cache for each version, or 0 to parse every command
+     * @param fingerprint The function that creates the fingerprint of a source for the {@link ParseCache}, which must capture every permission the requirements check
+     */
+    public CommandPublisher(CommandDispatcher<T> dispatcher, int cacheSize, Function<T, Object> fingerprint) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.cacheSize = cacheSize;
+        this.fingerprint = fingerprint;
+        this.current = new AtomicReference<>(createVersion(dispatcher, 0));
+    }
+
+    /**
+     * @return The dispatcher that is currently published
+     */
+    public CommandDispatcher<T> getDispatcher() {
+        return current.get().dispatcher;
+    }
+
+    /**
+     * @return The number of times a dispatcher has been published
+     */
+    public long getVersion() {
+        return current.get().version;
+    }
+
+    /**
+     * Parses a command with the current dispatcher
+     *
+     * @param input  The command to parse
+     * @param source The source to parse the command for
+     * @return The parse results, which can be executed with their dispatcher
+     */
+    public ParseResults<T> parse(String input, T source) {
+        Version<T> version = current.get();
+        return version.cache != null ? version.cache.parse(input, source) : version.dispatcher.parse(input, source);
+    }
+
+    /**
+     * Parses and executes a command with the current dispatcher
+     *
+     * @param input  The command to execute
+     * @param source The source to execute the command as
+     * @return The result of the command
+     * @throws CommandSyntaxException If the command could not be parsed or failed to execute
+     */
+    public int execute(String input, T source) throws CommandSyntaxException {
+        ParseResults<T> parse = parse(input, source);
+        return parse.getContext().getDispatcher().execute(parse);
+    }
+
+    /**
+     * Gets the suggestions for a command from the current dispatcher
+     *
+     * @param input  The command to complete
+     * @param source The source to get suggestions for
+     * @return The suggestions
+     */
+    public CompletableFuture<Suggestions> getCompletionSuggestions(String input, T source) {
+        CommandDispatcher<T> dispatcher = getDispatcher();
+        return dispatcher.getCompletionSuggestions(dispatcher.parse(input, source));
+    }
+
+    /**
+     * Publishes a new dispatcher
+     *
+     * @param dispatcher The dispatcher to publish
+     * @return The published dispatcher
+     */
+    public synchronized CommandDispatcher<T> publish(CommandDispatcher<T> dispatcher) {
+        Version<T> previous;
+        do {
+            previous = current.get();
+        } while (!current.compareAndSet(previous, createVersion(dispatcher, previous.version + 1)));
+        return dispatcher;
+    }
+
+    /**
+     * Builds a new dispatcher on the calling thread and publishes it, unless a reload that started later was published first
+     *
+     * @param loader The function that registers every command to the new dispatcher
+     * @return The published dispatcher
+     */
+    public CommandDispatcher<T> reload(Consumer<CommandDispatcher<T>> loader) {
+        return reload(reloads.incrementAndGet(), loader);
+    }
+
+    private CommandDispatcher<T> reload(long reload, Consumer<CommandDispatcher<T>> loader) {
+        CommandDispatcher<T> dispatcher = new CommandDispatcher<>();
+        loader.accept(dispatcher);
+        synchronized (this) {
+            if (reload < publishedReload) {
+                return getDispatcher();
+            }
+            publishedReload = reload;
+            return publish(dispatcher);
+        }
+    }
+
+    /**
+     * Builds a new dispatcher from JSON files on the calling thread and publishes it
+     *
+     * @param files        The JSON files, in the order they are registered
+     * @param contextClass The class for the context that the command executes in
+     * @return The published dispatcher
+     * @see JsonToBrigadier#register(CommandDispatcher, Path, Class)
+     */
+    public CommandDispatcher<T> reload(List<Path> files, Class<T> contextClass) {
+        return reload(dispatcher -> files.forEach(file -> JsonToBrigadier.register(dispatcher, file, contextClass)));
+    }
+
+    /**
+     * Builds a new dispatcher with the executor and publishes it. If the loader fails, the current dispatcher is kept.
+     * If a reload that was started after this one is published first, this dispatcher is dropped and the future completes with the newer one.
+     *
+     * @param loader   The function that registers every command to the new dispatcher
+     * @param executor The executor to build the dispatcher with
+     * @return A future for the published dispatcher
+     */
+    public CompletableFuture<CommandDispatcher<T>> reloadAsync(Consumer<CommandDispatcher<T>> loader, Executor executor) {
+        long reload = reloads.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> reload(reload, loader), executor);
+    }
+
+    /**
+     * Publishes a dispatcher created from the current one, like with {@link CommandOverlay#overlay(CommandDispatcher, CommandDispatcher)}.
+     * The function must return a new dispatcher instead of changing the current one.
+     *
+     * @param function The function that creates the new dispatcher
+     * @return The published dispatcher
+     */
+    public synchronized CommandDispatcher<T> update(UnaryOperator<CommandDispatcher<T>> function) {
+        CommandDispatcher<T> previous = getDispatcher();
+        CommandDispatcher<T> dispatcher = function.apply(previous);
+        if (dispatcher == previous) {
+            throw new IllegalArgumentException("The update must create a new dispatcher");
+        }
+        return publish(dispatcher);
+    }
+
+    private Version<T> createVersion(CommandDispatcher<T> dispatcher, long version) {
+        return new Version<>(dispatcher, cacheSize > 0 ? new ParseCache<>(dispatcher, cacheSize, fingerprint) : null, version);
+    }
+
+    private static final class Version<T> {
+        private final CommandDispatcher<T> dispatcher;
+        private final ParseCache<T> cache;
+        private final long version;
+
+        private Version(CommandDispatcher<T> dispatcher, ParseCache<T> cache, long version) {
+            this.dispatcher = dispatcher;
+            this.cache = cache;
+            this.version = version;
+        }
+    }
+}
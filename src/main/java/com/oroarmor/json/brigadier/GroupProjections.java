@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+/**
+ * Keeps a pruned copy of a command tree for each permission group, for sending trees, showing usage and getting suggestions
+ * without checking the {@code requires} of every node. Each projection only has the nodes that the group's representative
+ * source can use, and none of its nodes have requirements.
+ * <p>
+ * Nodes without requirements whose children are all kept are shared with the original tree. Calling
+ * {@link GroupProjections#update(CommandDispatcher)} again after a reload, or after an update from a {@link CommandPublisher},
+ * only copies the nodes that are new or whose children changed, and only checks the requirements of new nodes.
+ * Projections must not be changed, and requirements are expected to give the same result for every source in a group.
+ *
+ * @param <T> The command context type
+ * @param <G> The group type
+ */
+public final class GroupProjections<T, G> {
+    private final Map<G, T> groups;
+    private final Function<T, G> classifier;
+    private final Map<G, Projection<T>> projections = new HashMap<>();
+    private volatile Map<G, CommandDispatcher<T>> dispatchers = Map.of();
+
+    /**
+     * Creates projections for a set of groups. {@link GroupProjections#update(CommandDispatcher)} must be called before they are used.
+     *
+     * @param groups     A source for each group, which the requirements are checked with
+     * @param classifier The function that finds the group of a source
+     */
+    public GroupProjections(Map<G, T> groups, Function<T, G> classifier) {
+        this.groups = new LinkedHashMap<>(groups);
+        this.classifier = classifier;
+    }
+
+    /**
+     * Creates projections for a set of groups, and projects the dispatcher
+     *
+     * @param dispatcher The dispatcher to project
+     * @param groups     A source for each group, which the requirements are checked with
+     * @param classifier The function that finds the group of a source
+     */
+    public GroupProjections(CommandDispatcher<T> dispatcher, Map<G, T> groups, Function<T, G> classifier) {
+        this(groups, classifier);
+        update(dispatcher);
+    }
+
+    /**
+     * Projects a new version of the commands for every group. Nodes that were projected before are reused.
+     *
+     * @param dispatcher The dispatcher to project
+     */
+    public synchronized void update(CommandDispatcher<T> dispatcher) {
+        Map<G, CommandDispatcher<T>> updated = new HashMap<>();
+        for (Map.Entry<G, T> group : groups.entrySet()) {
+            Projection<T> projection = projections.computeIfAbsent(group.getKey(), key -> new Projection<>());
+            updated.put(group.getKey(), projection.update(dispatcher, group.getValue()));
+        }
+        dispatchers = Map.copyOf(updated);
+    }
+
+    /**
+     * @param group The group
+     * @return The projection for the group
+     * @throws IllegalArgumentException If the group is unknown, or the projections have not been updated
+     */
+    public CommandDispatcher<T> getProjection(G group) {
+        CommandDispatcher<T> dispatcher = dispatchers.get(group);
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("No projection for group " + group);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * @param source The source
+     * @return The projection for the group of the source
+     * @throws IllegalArgumentException If the group is unknown, or the projections have not been updated
+     */
+    public CommandDispatcher<T> getProjectionFor(T source) {
+        return getProjection(classifier.apply(source));
+    }
+
+    /**
+     * Gets the suggestions for a command from the projection for the source's group
+     *
+     * @param input  The command to complete
+     * @param source The source to get suggestions for
+     * @return The suggestions
+     */
+    public CompletableFuture<Suggestions> getCompletionSuggestions(String input, T source) {
+        CommandDispatcher<T> dispatcher = getProjectionFor(source);
+        return dispatcher.getCompletionSuggestions(dispatcher.parse(input, source));
+    }
+
+    /**
+     * Gets the usage of every command that the source's group can use
+     *
+     * @param source The source to get the usage for
+     * @return The usage of each command
+     */
+    public String[] getAllUsage(T source) {
+        CommandDispatcher<T> dispatcher = getProjectionFor(source);
+        return dispatcher.getAllUsage(dispatcher.getRoot(), source, false);
+    }
+
+    /**
+     * Gets the usage of the top level commands that the source's group can use
+     *
+     * @param source The source to get the usage for
+     * @return The usage of each command, by the command's node in the projection
+     */
+    public Map<CommandNode<T>, String> getSmartUsage(T source) {
+        CommandDispatcher<T> dispatcher = getProjectionFor(source);
+        return dispatcher.getSmartUsage(dispatcher.getRoot(), source);
+    }
+
+    /**
+     * The projection of one group, with the copies from the last update
+     */
+    private static final class Projection<T> {
+        private CommandDispatcher<T> dispatcher;
+        private Map<CommandNode<T>, CommandNode<T>> copies = new IdentityHashMap<>();
+        private Map<CommandNode<T>, List<CommandNode<T>>> copiedFrom = new IdentityHashMap<>();
+        private Map<CommandNode<T>, Boolean> allowed = new IdentityHashMap<>();
+
+        private CommandDispatcher<T> update(CommandDispatcher<T> original, T source) {
+            RootCommandNode<T> root = original.getRoot();
+
+            // Finds the nodes the group can use, checking only the requirements of new nodes
+            Map<CommandNode<T>, Boolean> newAllowed = new IdentityHashMap<>();
+            Set<CommandNode<T>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<CommandNode<T>> nodes = new ArrayList<>();
+            List<CommandNode<T>> queue = new ArrayList<>(List.of(root));
+            visited.add(root);
+            while (!queue.isEmpty()) {
+                CommandNode<T> node = queue.remove(queue.size() - 1);
+                nodes.add(node);
+                for (CommandNode<T> child : node.getChildren()) {
+                    if (!newAllowed.containsKey(child)) {
+                        Boolean canUse = allowed.get(child);
+                        newAllowed.put(child, canUse != null ? canUse : child.canUse(source));
+                    }
+                    if (newAllowed.get(child) && visited.add(child)) {
+                        queue.add(child);
+                    }
+                }
+                // Brigadier does not check the requirement of a redirect target, only of its children
+                if (node.getRedirect() != null && visited.add(node.getRedirect())) {
+                    queue.add(node.getRedirect());
+                }
+            }
+            Function<CommandNode<T>, Collection<CommandNode<T>>> children = node -> node.getChildren().stream().filter(newAllowed::get).toList();
+
+            // Nodes with a requirement or a removed child are copied, along with every node that leads to them
+            Set<CommandNode<T>> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+            changed.add(root);
+            for (CommandNode<T> node : nodes) {
+                if (node.getRequirement() != BrigadierToJson.<T>defaultRequirement() || node.getChildren().stream().anyMatch(child -> !newAllowed.get(child))) {
+                    changed.add(node);
+                }
+            }
+            CommandOverlay.findChanged(List.of(root), changed);
+
+            // Copies from the last update are reused, unless the node's children or redirect changed
+            Set<CommandNode<T>> outdated = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (CommandNode<T> node : nodes) {
+                if (changed.contains(node) && (!copies.containsKey(node) || !sameNodes(copiedFrom.get(node), getLinks(node)))) {
+                    outdated.add(node);
+                }
+            }
+            CommandOverlay.findChanged(List.of(root), outdated);
+
+            if (dispatcher != null && !outdated.contains(root)) {
+                allowed = newAllowed;
+                return dispatcher;
+            }
+
+            Map<CommandNode<T>, CommandNode<T>> newCopies = new IdentityHashMap<>();
+            Map<CommandNode<T>, List<CommandNode<T>>> newCopiedFrom = new IdentityHashMap<>();
+            for (CommandNode<T> node : nodes) {
+                if (changed.contains(node) && !outdated.contains(node)) {
+                    newCopies.put(node, copies.get(node));
+                }
+            }
+
+            RootCommandNode<T> projectedRoot = new RootCommandNode<>();
+            newCopies.put(root, projectedRoot);
+            for (CommandNode<T> child : children.apply(root)) {
+                projectedRoot.addChild(CommandOverlay.copy(child, changed, newCopies, children, node -> BrigadierToJson.defaultRequirement()));
+            }
+            for (CommandNode<T> node : newCopies.keySet()) {
+                newCopiedFrom.put(node, getLinks(node));
+            }
+
+            this.dispatcher = new CommandDispatcher<>(projectedRoot);
+            this.copies = newCopies;
+            this.copiedFrom = newCopiedFrom;
+            this.allowed = newAllowed;
+            return dispatcher;
+        }
+
+        private static <T> List<CommandNode<T>> getLinks(CommandNode<T> node) {
+            List<CommandNode<T>> links = new ArrayList<>(node.getChildren());
+            links.add(node.getRedirect());
+            return links;
+        }
+
+        private static <T> boolean sameNodes(List<CommandNode<T>> first, List<CommandNode<T>> second) {
+            if (first.size() != second.size()) {
+                return false;
+            }
+            for (int i = 0; i < first.size(); i++) {
+                if (first.get(i) != second.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
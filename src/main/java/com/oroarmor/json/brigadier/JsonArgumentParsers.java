@@ -46,6 +46,10 @@ public final class JsonArgumentParsers {
         register("brigadier:float", JsonToBrigadierParsers::parseFloat);
         register("brigadier:string", JsonToBrigadierParsers::parseString);
         register("brigadier:long", JsonToBrigadierParsers::parseLong);
+        register("brigadier:integer_fast", JsonToBrigadierParsers::parseFastInteger);
+        register("brigadier:long_fast", JsonToBrigadierParsers::parseFastLong);
+        register("brigadier:double_fast", JsonToBrigadierParsers::parseFastDouble);
+        register("brigadier:float_fast", JsonToBrigadierParsers::parseFastFloat);
     }
 
     /**
@@ -24,18 +24,42 @@
 
 package com.oroarmor.json.brigadier;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.*;
 import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 
 import static com.oroarmor.json.brigadier.StringConstants.*;
 
@@ -43,6 +67,27 @@ import static com.oroarmor.json.brigadier.StringConstants.*;
  * Parses JSON files into {@link ArgumentBuilder}s for your {@link com.mojang.brigadier.CommandDispatcher}
  */
 public final class JsonToBrigadier {
+    private static final String STRING_SOURCE = "<string>";
+    private static final String STREAM_SOURCE = "<stream>";
+    private static volatile DocumentReader documentReader = reader -> JsonParser.parseReader(reader).getAsJsonObject();
+
+    /**
+     * Sets the reader used to read JSON documents. By default, documents are read with Gson's {@link JsonParser}.
+     * The commands are built from Gson's {@link JsonObject}s, so a reader can change how documents are read, like reading
+     * another format or filling in defaults, but every reader still builds Gson's tree for the whole document.
+     *
+     * @param reader The reader for JSON documents
+     */
+    public static void setDocumentReader(DocumentReader reader) {
+        documentReader = Objects.requireNonNull(reader);
+    }
+
+    /**
+     * @return The reader used to read JSON documents
+     */
+    public static DocumentReader getDocumentReader() {
+        return documentReader;
+    }
 
     /**
      * Parses a file at the path
@@ -54,14 +99,12 @@ public final class JsonToBrigadier {
      * @return An {@link ArgumentBuilder} for the JSON file
      */
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parse(Path path, Class<T> contextClass) {
-        String file;
+        String previous = LoadProfiler.setSource(path.toString());
         try {
-            file = String.join("\n", Files.readAllLines(path));
-        } catch (IOException e) {
-            System.err.println("Invalid path to JSON file");
-            throw new RuntimeException(e);
+            return parse(readFile(path), contextClass, null);
+        } finally {
+            LoadProfiler.restoreSource(previous);
         }
-        return parse(file, contextClass);
     }
 
     /**
@@ -74,85 +117,743 @@ public final class JsonToBrigadier {
      * @return An {@link ArgumentBuilder} for the JSON file
      */
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parse(String json, Class<T> contextClass) {
-        JsonObject commandObject = JsonParser.parseString(json).getAsJsonObject();
-        return parseCommand(commandObject, contextClass);
+        String previous = LoadProfiler.setSource(STRING_SOURCE);
+        try {
+            return parse(readString(json), contextClass, null);
+        } finally {
+            LoadProfiler.restoreSource(previous);
+        }
+    }
+
+    /**
+     * Parses a file at the path and registers it to the dispatcher. Every {@link ParseCache} for the dispatcher is invalidated.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param path         The path to the JSON file
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @see JsonToBrigadier#register(CommandDispatcher, String, Class)
+     */
+    public static <T> void register(CommandDispatcher<T> dispatcher, Path path, Class<T> contextClass) {
+        String previous = LoadProfiler.setSource(path.toString());
+        try {
+            register(dispatcher, readFile(path), contextClass);
+        } finally {
+            LoadProfiler.restoreSource(previous);
+        }
+    }
+
+    /**
+     * Parses a json string and registers it to the dispatcher. The json can either be a single literal command, or a
+     * {@code brigadier:root} object as created by {@link BrigadierToJson#parseObject(CommandDispatcher)}, whose children are all registered.
+     * Redirects can target any command in the object, or {@code __root__} for the root of the dispatcher.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param json         The string for the json
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     */
+    public static <T> void register(CommandDispatcher<T> dispatcher, String json, Class<T> contextClass) {
+        String previous = LoadProfiler.setSource(STRING_SOURCE);
+        try {
+            register(dispatcher, readString(json), contextClass);
+        } finally {
+            LoadProfiler.restoreSource(previous);
+        }
+    }
+
+    /**
+     * Parses a JSON document from a stream, which can be gzip compressed. The stream is not closed.
+     *
+     * @param stream       The stream of the JSON document
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @param <S>          The {@link ArgumentBuilder} self type
+     * @return An {@link ArgumentBuilder} for the JSON document
+     */
+    public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parse(InputStream stream, Class<T> contextClass) {
+        String previous = LoadProfiler.setSource(STREAM_SOURCE);
+        try {
+            return parse(readStream(stream), contextClass, null);
+        } finally {
+            LoadProfiler.restoreSource(previous);
+        }
+    }
+
+    /**
+     * Parses a JSON document from a channel, which can be gzip compressed. The channel is not closed.
+     *
+     * @param channel      The channel of the JSON document
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @param <S>          The {@link ArgumentBuilder} self type
+     * @return An {@link ArgumentBuilder} for the JSON document
+     */
+    public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parse(ReadableByteChannel channel, Class<T> contextClass) {
+        return parse(Channels.newInputStream(channel), contextClass);
+    }
+
+    /**
+     * Parses a JSON document from a stream, which can be gzip compressed, and registers it to the dispatcher. The stream is not closed.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param stream       The stream of the JSON document
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @see JsonToBrigadier#register(CommandDispatcher, String, Class)
+     */
+    public static <T> void register(CommandDispatcher<T> dispatcher, InputStream stream, Class<T> contextClass) {
+        String previous = LoadProfiler.setSource(STREAM_SOURCE);
+        try {
+            register(dispatcher, readStream(stream), contextClass);
+        } finally {
+            LoadProfiler.restoreSource(previous);
+        }
+    }
+
+    /**
+     * Parses a JSON document from a channel, which can be gzip compressed, and registers it to the dispatcher. The channel is not closed.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param channel      The channel of the JSON document
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @see JsonToBrigadier#register(CommandDispatcher, String, Class)
+     */
+    public static <T> void register(CommandDispatcher<T> dispatcher, ReadableByteChannel channel, Class<T> contextClass) {
+        register(dispatcher, Channels.newInputStream(channel), contextClass);
+    }
+
+    /**
+     * Registers every {@code .json} and {@code .json.gz} entry in a zip or jar archive to the dispatcher, in the order they are stored.
+     * Entries are parsed as they are read from the archive, without extracting them.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param path         The path to the archive
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @see JsonToBrigadier#register(CommandDispatcher, String, Class)
+     */
+    public static <T> void registerArchive(CommandDispatcher<T> dispatcher, Path path, Class<T> contextClass) {
+        // ZipInputStream reads the headers of each entry in small pieces, so the file is buffered
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(path))) {
+            registerArchive(dispatcher, stream, path.toString(), contextClass);
+        } catch (IOException e) {
+            System.err.println("Invalid path to archive");
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Registers every {@code .json} and {@code .json.gz} entry in a zip or jar archive to the dispatcher, in the order they are stored.
+     * The stream is not closed.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param stream       The stream of the archive
+     * @param contextClass The class for the context that the command executes in
+     * @param <T>          The command context type
+     * @see JsonToBrigadier#registerArchive(CommandDispatcher, Path, Class)
+     */
+    public static <T> void registerArchive(CommandDispatcher<T> dispatcher, InputStream stream, Class<T> contextClass) {
+        registerArchive(dispatcher, stream, STREAM_SOURCE, contextClass);
     }
 
-    private static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseCommand(JsonObject commandObject, Class<T> contextClass) {
-        if (!commandObject.has(ARGUMENT)) {
-            throw new IllegalArgumentException("Command is missing an argument type");
+    private static <T> void registerArchive(CommandDispatcher<T> dispatcher, InputStream stream, String name, Class<T> contextClass) {
+        try (ZipInputStream archive = new ZipInputStream(new UnclosedInputStream(stream), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = archive.getNextEntry()) != null) {
+                if (entry.isDirectory() || !(entry.getName().endsWith(".json") || entry.getName().endsWith(".json.gz"))) {
+                    continue;
+                }
+
+                String previous = LoadProfiler.setSource(name + "!/" + entry.getName());
+                try {
+                    register(dispatcher, readStream(archive), contextClass);
+                } finally {
+                    LoadProfiler.restoreSource(previous);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "try"})
+    private static <T> void register(CommandDispatcher<T> dispatcher, JsonObject commandObject, Class<T> contextClass) {
+        if (!isRoot(commandObject)) {
+            ArgumentBuilder<T, ?> builder = parse(commandObject, contextClass, dispatcher.getRoot());
+            if (!(builder instanceof LiteralArgumentBuilder)) {
+                throw new IllegalArgumentException("Only literal commands can be registered");
+            }
+            dispatcher.register((LiteralArgumentBuilder<T>) builder);
+        } else {
+            TreeParser<T> parser = new TreeParser<>(commandObject, contextClass, dispatcher.getRoot());
+            for (JsonObject child : parser.getChildren(commandObject)) {
+                CommandNode<T> node = parser.parseChild(child);
+                try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.BUILDER_WIRING)) {
+                    dispatcher.getRoot().addChild(node);
+                }
+            }
+        }
+
+        ParseCache.reloaded(dispatcher);
+    }
+
+    /**
+     * Parses a single command. {@code root} is the dispatcher root that {@code __root__} redirects to, or null when the command is not
+     * being registered
+     */
+    private static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parse(JsonObject commandObject, Class<T> contextClass, RootCommandNode<T> root) {
+        TreeParser<T> parser = new TreeParser<>(commandObject, contextClass, root);
+
+        if (!parser.isTarget(commandObject)) {
+            return parser.parseCommand(commandObject);
+        }
+
+        // The top level command is the target of a redirect, so the returned builder shares the children of the target node
+        CommandNode<T> target = parser.getTarget(commandObject);
+        ArgumentBuilder<T, S> builder = parser.parseNode(commandObject);
+        for (CommandNode<T> child : target.getChildren()) {
+            builder.then(child);
+        }
+        return builder;
+    }
+
+    @SuppressWarnings("try")
+    private static JsonObject readFile(Path path) {
+        try (InputStream stream = Files.newInputStream(path)) {
+            if (LoadProfiler.isEnabled()) {
+                // Read separately so that reading and parsing are profiled as their own phases
+                byte[] bytes;
+                try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.READ)) {
+                    bytes = stream.readAllBytes();
+                }
+                return readStream(new ByteArrayInputStream(bytes));
+            }
+            return readStream(stream);
+        } catch (IOException e) {
+            System.err.println("Invalid path to JSON file");
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads a document from a stream without closing it, decompressing it if it starts with the gzip header
+     */
+    @SuppressWarnings("try")
+    private static JsonObject readStream(InputStream stream) {
+        InputStream input = new BufferedInputStream(new UnclosedInputStream(stream));
+        try {
+            input.mark(2);
+            boolean gzip = input.read() == 0x1f && input.read() == 0x8b;
+            input.reset();
+            if (gzip) {
+                input = new GZIPInputStream(input);
+            }
+
+            try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8); LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.JSON_PARSE)) {
+                return documentReader.read(reader);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private static JsonObject readString(String json) {
+        try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.JSON_PARSE)) {
+            return documentReader.read(new StringReader(json));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isRoot(JsonObject commandObject) {
+        return commandObject.has(ARGUMENT) && commandObject.get(ARGUMENT).getAsJsonObject().has(TYPE) && "brigadier:root".equals(commandObject.get(ARGUMENT).getAsJsonObject().get(TYPE).getAsString());
+    }
+
+    /**
+     * Parses a single JSON document. Nodes that are the target of a {@code redirect} and {@code fragments} are only built once,
+     * and every reference to them shares that {@link CommandNode}.
+     *
+     * @param <T> The command context type
+     */
+    private static final class TreeParser<T> {
+        /**
+         * Stands in for {@code __root__} in documents that are not root objects themselves
+         */
+        private static final JsonObject ROOT_REFERENCE = new JsonObject();
+
+        private final JsonObject document;
+        private final Class<T> contextClass;
+        private final Map<String, JsonObject> ids = new HashMap<>();
+        private final Map<JsonObject, CommandNode<T>> targets = new IdentityHashMap<>();
+        private final Set<JsonObject> building = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<String, JsonObject> fragments = new HashMap<>();
+        private final Map<String, CommandNode<T>> parsedFragments = new HashMap<>();
+        private final Set<String> expanding = new HashSet<>();
+        private final Map<String, Method> commandHandlers = new HashMap<>();
+        private final Map<String, Method> requirementHandlers = new HashMap<>();
+
+        private TreeParser(JsonObject document, Class<T> contextClass, CommandNode<T> root) {
+            this.document = document;
+            this.contextClass = contextClass;
+            if (root != null) {
+                targets.put(isRoot(document) ? document : ROOT_REFERENCE, root);
+            }
+
+            if (document.has(FRAGMENTS)) {
+                for (Map.Entry<String, JsonElement> fragment : document.get(FRAGMENTS).getAsJsonObject().entrySet()) {
+                    fragments.put(fragment.getKey(), fragment.getValue().getAsJsonObject());
+                }
+            }
+
+            if (document.has(HANDLERS)) {
+                for (JsonElement handler : document.get(HANDLERS).getAsJsonArray()) {
+                    findHandlers(handler.getAsString());
+                }
+            }
+
+            findIds(document);
+            fragments.values().forEach(this::findIds);
+            findTargets(document);
+            fragments.values().forEach(this::findTargets);
+        }
+
+        private void findIds(JsonObject commandObject) {
+            if (commandObject.has(ID)) {
+                String id = commandObject.get(ID).getAsString();
+                if (ids.containsKey(id)) {
+                    throw new IllegalArgumentException("Duplicate command id " + id);
+                }
+                ids.put(id, commandObject);
+            }
+
+            for (JsonObject child : getChildren(commandObject)) {
+                findIds(child);
+            }
+        }
+
+        private void findTargets(JsonObject commandObject) {
+            if (commandObject.has(REDIRECT)) {
+                if (commandObject.has(CHILDREN)) {
+                    throw new IllegalArgumentException("Command " + commandObject.get(NAME) + " cannot have both children and a redirect");
+                }
+                targets.putIfAbsent(resolve(commandObject.get(REDIRECT).getAsString()), null);
+            }
+
+            for (JsonObject child : getChildren(commandObject)) {
+                findTargets(child);
+            }
         }
 
-        if (!commandObject.has(NAME)) {
-            throw new IllegalArgumentException("Command is missing a name");
+        private JsonObject resolve(String reference) {
+            if (ids.containsKey(reference)) {
+                return ids.get(reference);
+            }
+
+            if (isRoot(document) && document.get(NAME).getAsString().equals(reference)) {
+                return document;
+            }
+
+            if (!isRoot(document) && ROOT.equals(reference)) {
+                return ROOT_REFERENCE;
+            }
+
+            List<JsonObject> candidates = isRoot(document) ? getChildren(document) : List.of(document);
+            JsonObject current = null;
+            for (String name : reference.split(" ")) {
+                current = null;
+                for (JsonObject candidate : candidates) {
+                    if (candidate.has(NAME) && candidate.get(NAME).getAsString().equals(name)) {
+                        current = candidate;
+                        break;
+                    }
+                }
+                if (current == null) {
+                    throw new IllegalArgumentException("Unable to find redirect target " + reference);
+                }
+                candidates = getChildren(current);
+            }
+            return current;
         }
 
-        ArgumentBuilder<T, S> builder = JsonArgumentParsers.get(commandObject.get("argument").getAsJsonObject().get("type").getAsString()).parse(commandObject);
-        if (commandObject.has(CHILDREN)) {
+        private List<JsonObject> getChildren(JsonObject commandObject) {
+            if (!commandObject.has(CHILDREN)) {
+                return List.of();
+            }
+
+            List<JsonObject> children = new ArrayList<>();
             for (JsonElement child : commandObject.get(CHILDREN).getAsJsonArray()) {
-                builder.then(parseCommand(child.getAsJsonObject(), contextClass));
+                children.add(child.getAsJsonObject());
+            }
+            return children;
+        }
+
+        private boolean isTarget(JsonObject commandObject) {
+            return targets.containsKey(commandObject);
+        }
+
+        @SuppressWarnings("try")
+        private CommandNode<T> parseChild(JsonObject commandObject) {
+            if (commandObject.has(REF)) {
+                return parseReference(commandObject);
+            }
+            if (isTarget(commandObject)) {
+                return getTarget(commandObject);
+            }
+
+            ArgumentBuilder<T, ?> builder = parseCommand(commandObject);
+            try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.NODE_CONSTRUCTION)) {
+                return builder.build();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private CommandNode<T> parseReference(JsonObject reference) {
+            CommandNode<T> fragment = getFragment(reference.get(REF).getAsString());
+            if (!reference.has(NAME) && !reference.has(EXECUTES) && !reference.has(REQUIRES)) {
+                return fragment;
+            }
+
+            // Only the top node is copied, the argument type and children are still shared with the fragment
+            String name = reference.has(NAME) ? reference.get(NAME).getAsString() : fragment.getName();
+            ArgumentBuilder<T, ?> builder;
+            if (fragment instanceof ArgumentCommandNode<T, ?> argument) {
+                builder = RequiredArgumentBuilder.<T, Object>argument(name, (ArgumentType<Object>) argument.getType()).suggests(argument.getCustomSuggestions());
+            } else {
+                builder = LiteralArgumentBuilder.literal(name);
+            }
+
+            builder.executes(fragment.getCommand());
+            builder.requires(fragment.getRequirement());
+            builder.forward(fragment.getRedirect(), fragment.getRedirectModifier(), fragment.isFork());
+            parseExecutes(reference, builder);
+            parseRequires(reference, builder);
+            for (CommandNode<T> child : fragment.getChildren()) {
+                builder.then(child);
+            }
+            return builder.build();
+        }
+
+        private CommandNode<T> getFragment(String name) {
+            CommandNode<T> fragment = parsedFragments.get(name);
+            if (fragment != null) {
+                return fragment;
+            }
+
+            if (!fragments.containsKey(name)) {
+                throw new IllegalArgumentException("Unable to find fragment " + name);
+            }
+
+            if (!expanding.add(name)) {
+                throw new IllegalArgumentException("Fragment " + name + " references itself");
+            }
+            fragment = parseChild(fragments.get(name));
+            expanding.remove(name);
+
+            parsedFragments.put(name, fragment);
+            return fragment;
+        }
+
+        @SuppressWarnings("try")
+        private CommandNode<T> getTarget(JsonObject commandObject) {
+            CommandNode<T> target = targets.get(commandObject);
+            if (target != null) {
+                return target;
+            }
+
+            if (commandObject == ROOT_REFERENCE) {
+                throw new IllegalArgumentException("Commands can only redirect to " + ROOT + " when they are registered to a dispatcher");
+            }
+
+            if (!building.add(commandObject)) {
+                throw new IllegalArgumentException("Command " + commandObject.get(NAME) + " redirects to itself");
+            }
+            ArgumentBuilder<T, ?> builder = parseNode(commandObject);
+            try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.NODE_CONSTRUCTION)) {
+                target = builder.build();
+            }
+            building.remove(commandObject);
+
+            // Stored before the children are parsed, so that children can redirect back to this node
+            targets.put(commandObject, target);
+            for (JsonObject child : getChildren(commandObject)) {
+                CommandNode<T> node = parseChild(child);
+                try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.BUILDER_WIRING)) {
+                    target.addChild(node);
+                }
+            }
+            return target;
+        }
+
+        @SuppressWarnings("try")
+        private <S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseCommand(JsonObject commandObject) {
+            ArgumentBuilder<T, S> builder = parseNode(commandObject);
+            for (JsonObject child : getChildren(commandObject)) {
+                CommandNode<T> node = parseChild(child);
+                try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.BUILDER_WIRING)) {
+                    builder.then(node);
+                }
+            }
+            return builder;
+        }
+
+        @SuppressWarnings("try")
+        private <S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseNode(JsonObject commandObject) {
+            if (!commandObject.has(ARGUMENT)) {
+                throw new IllegalArgumentException("Command is missing an argument type");
+            }
+
+            if (!commandObject.has(NAME)) {
+                throw new IllegalArgumentException("Command is missing a name");
+            }
+
+            ArgumentBuilder<T, S> builder;
+            try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.NODE_CONSTRUCTION)) {
+                builder = JsonArgumentParsers.get(commandObject.get("argument").getAsJsonObject().get("type").getAsString()).parse(commandObject);
+                parseExecutes(commandObject, builder);
+                parseRequires(commandObject, builder);
             }
+
+            if (commandObject.has(REDIRECT)) {
+                boolean fork = commandObject.has(FORK) && commandObject.get(FORK).getAsBoolean();
+                CommandNode<T> target = getTarget(resolve(commandObject.get(REDIRECT).getAsString()));
+                try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.BUILDER_WIRING)) {
+                    builder.forward(target, null, fork);
+                }
+            }
+
+            return builder;
         }
 
-        if (commandObject.has(EXECUTES)) {
-            String[] description = commandObject.get(EXECUTES).getAsString().split("::");
-            Class<?> executeClass;
+        @SuppressWarnings("try")
+        private void findHandlers(String className) {
+            Class<?> handlerClass;
             try {
-                executeClass = Thread.currentThread().getContextClassLoader().loadClass(description[0]);
-                final Method method = executeClass.getDeclaredMethod(description[1], CommandContext.class);
-                builder.executes(new Command<T>() {
-                    @Override
-                    public int run(CommandContext<T> context) {
-                        try {
-                            return (Integer) method.invoke(null, context);
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
+                handlerClass = loadClass(className);
+            } catch (ClassNotFoundException e) {
+                System.err.println("Unable to find handler class " + e.getMessage());
+                return;
+            }
+
+            try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.METHOD_LOOKUP)) {
+                for (Method method : handlerClass.getDeclaredMethods()) {
+                    if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1) {
+                        continue;
                     }
 
-                    @Override
-                    public String toString() {
-                        return commandObject.get(EXECUTES).getAsString();
+                    // Methods that do not match a command or requirement signature are not handlers, so they cannot make a name ambiguous
+                    if (method.getParameterTypes()[0] == CommandContext.class && method.getReturnType() == int.class) {
+                        addHandler(commandHandlers, method);
+                    } else if (method.getParameterTypes()[0] == contextClass && method.getReturnType() == boolean.class) {
+                        addHandler(requirementHandlers, method);
                     }
-                });
-            } catch (ClassNotFoundException | NoSuchMethodException e) {
-                System.err.println(e.getMessage());
-                builder.executes(source -> {
-                    System.err.println("Unable to find method for " + commandObject.get(EXECUTES));
-                    return 0;
-                });
+                }
             }
         }
 
-        if (commandObject.has(REQUIRES)) {
-            String[] description = commandObject.get(REQUIRES).getAsString().split("::");
-            Class<?> executeClass;
-            try {
-                executeClass = Thread.currentThread().getContextClassLoader().loadClass(description[0]);
-                final Method method = executeClass.getDeclaredMethod(description[1], contextClass);
-                builder.requires(new Predicate<T>() {
-                    public boolean test(T context) {
-                        try {
-                            return (Boolean) method.invoke(null, context);
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
+        private void addHandler(Map<String, Method> handlers, Method method) {
+            // A name in more than one class is kept with a null method so that using it is an error
+            handlers.put(method.getName(), handlers.containsKey(method.getName()) ? null : method);
+        }
+
+        private <S extends ArgumentBuilder<T, S>> void parseExecutes(JsonObject commandObject, ArgumentBuilder<T, S> builder) {
+            if (commandObject.has(EXECUTES)) {
+                builder.executes(bindCommand(commandObject.get(EXECUTES).getAsString(), commandHandlers));
+            }
+        }
+
+        private <S extends ArgumentBuilder<T, S>> void parseRequires(JsonObject commandObject, ArgumentBuilder<T, S> builder) {
+            if (commandObject.has(REQUIRES)) {
+                boolean cache = commandObject.has(CACHE_REQUIRES) && commandObject.get(CACHE_REQUIRES).getAsBoolean();
+                builder.requires(bindRequirement(commandObject.get(REQUIRES).getAsString(), requirementHandlers, contextClass, cache));
+            }
+        }
+    }
+
+    @SuppressWarnings("try")
+    private static Class<?> loadClass(String className) throws ClassNotFoundException {
+        try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.CLASS_LOAD)) {
+            return Thread.currentThread().getContextClassLoader().loadClass(className);
+        }
+    }
+
+    /**
+     * Finds a method from either a {@code Class::method} description, or the name of a method in one of the {@code handlers} classes
+     */
+    @SuppressWarnings("try")
+    private static Method findMethod(String description, Map<String, Method> handlers, Class<?> parameter) throws ClassNotFoundException, NoSuchMethodException {
+        int separator = description.indexOf("::");
+        if (separator != -1) {
+            Class<?> executeClass = loadClass(description.substring(0, separator));
+            try (LoadProfiler.Timer ignored = LoadProfiler.start(LoadProfiler.Phase.METHOD_LOOKUP)) {
+                return executeClass.getDeclaredMethod(description.substring(separator + 2), parameter);
+            }
+        }
+
+        if (!handlers.containsKey(description)) {
+            throw new NoSuchMethodException("Unable to find handler " + description);
+        }
+
+        Method method = handlers.get(description);
+        if (method == null) {
+            throw new NoSuchMethodException("Handler " + description + " is defined in more than one handler class");
+        }
+        return method;
+    }
+
+    /**
+     * Creates the command for an {@code executes} description. If the method cannot be found, the command does nothing.
+     */
+    static <T> Command<T> bindCommand(String description, Map<String, Method> handlers) {
+        try {
+            final Method method = findMethod(description, handlers, CommandContext.class);
+            final String handler = method.getDeclaringClass().getName() + "::" + method.getName();
+            return new Command<>() {
+                @Override
+                public int run(CommandContext<T> context) {
+                    CommandExecutionEvent event = new CommandExecutionEvent();
+                    event.begin();
+                    try {
+                        int result = (Integer) method.invoke(null, context);
+                        event.result = result;
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        event.failure = e.getCause().getClass().getName();
+                        throw new RuntimeException(e);
+                    } catch (Exception e) {
+                        event.failure = e.getClass().getName();
+                        bindingFailure(handler, EXECUTES, "invoke", e.toString());
+                        throw new RuntimeException(e);
+                    } finally {
+                        if (event.shouldCommit()) {
+                            event.handler = handler;
+                            event.path = getPath(context);
+                            event.commit();
                         }
                     }
+                }
+
+                @Override
+                public String toString() {
+                    return handler;
+                }
+            };
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            System.err.println(e.getMessage());
+            bindingFailure(description, EXECUTES, "load", e.toString());
+            return new Command<>() {
+                @Override
+                public int run(CommandContext<T> context) {
+                    bindingFailure(description, EXECUTES, "invoke", "Unable to find method");
+                    return 0;
+                }
+
+                @Override
+                public String toString() {
+                    return description;
+                }
+            };
+        }
+    }
 
-                    @Override
-                    public String toString() {
-                        return commandObject.get(REQUIRES).getAsString();
+    /**
+     * Creates the requirement for a {@code requires} description. If the method cannot be found, the requirement is never met.
+     */
+    static <T> Predicate<T> bindRequirement(String description, Map<String, Method> handlers, Class<T> contextClass, boolean cache) {
+        Predicate<T> requirement;
+        try {
+            final Method method = findMethod(description, handlers, contextClass);
+            final String handler = method.getDeclaringClass().getName() + "::" + method.getName();
+            requirement = new Predicate<>() {
+                public boolean test(T context) {
+                    RequirementCheckEvent event = new RequirementCheckEvent();
+                    event.begin();
+                    try {
+                        boolean result = (Boolean) method.invoke(null, context);
+                        event.result = result;
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw new RuntimeException(e);
+                    } catch (Exception e) {
+                        bindingFailure(handler, REQUIRES, "invoke", e.toString());
+                        throw new RuntimeException(e);
+                    } finally {
+                        if (event.shouldCommit()) {
+                            event.handler = handler;
+                            event.commit();
+                        }
                     }
-                });
-            } catch (ClassNotFoundException | NoSuchMethodException e) {
-                System.err.println(e.getMessage());
-                builder.requires(source -> {
-                    System.err.println("Unable to find method for " + commandObject.get(REQUIRES));
+                }
+
+                @Override
+                public String toString() {
+                    return handler;
+                }
+            };
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            System.err.println(e.getMessage());
+            bindingFailure(description, REQUIRES, "load", e.toString());
+            requirement = new Predicate<>() {
+                public boolean test(T context) {
+                    bindingFailure(description, REQUIRES, "invoke", "Unable to find method");
                     return false;
-                });
-            }
+                }
+
+                @Override
+                public String toString() {
+                    return description;
+                }
+            };
         }
+        return cache ? RequirementCache.cache(requirement) : requirement;
+    }
 
-        return builder;
+    private static String getPath(CommandContext<?> context) {
+        StringJoiner path = new StringJoiner(" ");
+        for (ParsedCommandNode<?> node : context.getNodes()) {
+            path.add(node.getNode().getName());
+        }
+        return path.toString();
+    }
+
+    private static void bindingFailure(String handler, String kind, String stage, String reason) {
+        BindingFailureEvent event = new BindingFailureEvent();
+        if (event.shouldCommit()) {
+            event.handler = handler;
+            event.kind = kind;
+            event.stage = stage;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+
+    /**
+     * Keeps streams owned by the caller open when the readers around them are closed
+     */
+    private static final class UnclosedInputStream extends FilterInputStream {
+        private UnclosedInputStream(InputStream stream) {
+            super(stream);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A Functional Interface that reads JSON documents into Gson's tree
+     */
+    @FunctionalInterface
+    public interface DocumentReader {
+        /**
+         * Reads a whole JSON document. The reader is closed by the caller.
+         *
+         * @param reader The reader for the document
+         * @return The JsonObject for the top level command of the document
+         * @throws IOException If the document could not be read
+         */
+        JsonObject read(Reader reader) throws IOException;
     }
 }
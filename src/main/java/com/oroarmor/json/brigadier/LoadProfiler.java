@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Records how long each phase of loading JSON command files takes, per file. Profiling is off until {@link LoadProfiler#enable()}
+ * is called. The phases are also emitted as {@code com.oroarmor.json.brigadier.LoadPhase} JFR events whenever a JFR recording
+ * has them enabled, even if this profiler is not.
+ * <p>
+ * The time of a phase does not include the phases nested in it, so the times of a file add up to its total.
+ * While profiling, files are read into memory as bytes before being parsed, so that reading and parsing are timed separately.
+ */
+public final class LoadProfiler {
+    private static final Map<String, long[]> TIMINGS = new LinkedHashMap<>();
+    private static final ThreadLocal<Timer> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> SOURCE = new ThreadLocal<>();
+    private static volatile boolean enabled = false;
+
+    /**
+     * Starts recording timings
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops recording timings. The recorded timings are kept until {@link LoadProfiler#reset()}.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Removes all recorded timings
+     */
+    public static synchronized void reset() {
+        TIMINGS.clear();
+    }
+
+    /**
+     * Gets the recorded timings
+     *
+     * @return The nanoseconds spent in each phase, by the file or {@code <string>} that was loaded
+     */
+    public static synchronized Map<String, Map<Phase, Long>> getTimings() {
+        Map<String, Map<Phase, Long>> timings = new LinkedHashMap<>();
+        TIMINGS.forEach((source, nanos) -> {
+            Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, nanos[phase.ordinal()]);
+            }
+            timings.put(source, Collections.unmodifiableMap(phases));
+        });
+        return Collections.unmodifiableMap(timings);
+    }
+
+    /**
+     * Creates a plain text summary of the recorded timings
+     *
+     * @return The summary
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder("Command load profile\n");
+        getTimings().forEach((source, phases) -> {
+            long total = phases.values().stream().mapToLong(Long::longValue).sum();
+            summary.append(String.format(Locale.ROOT, "%s (%.3fms)%n", source, total / 1e6));
+            phases.forEach((phase, nanos) -> summary.append(String.format(Locale.ROOT, "  %-18s %10.3fms%n", phase.getName(), nanos / 1e6)));
+        });
+        return summary.toString();
+    }
+
+    static String setSource(String source) {
+        String previous = SOURCE.get();
+        SOURCE.set(source);
+        return previous;
+    }
+
+    static void restoreSource(String previous) {
+        if (previous == null) {
+            SOURCE.remove();
+        } else {
+            SOURCE.set(previous);
+        }
+    }
+
+    /**
+     * Starts timing a phase, which is stopped by closing the timer
+     *
+     * @param phase The phase to time
+     * @return The timer, or null if neither this profiler nor the JFR event are enabled
+     */
+    static Timer start(Phase phase) {
+        LoadPhaseEvent event = new LoadPhaseEvent();
+        if (!enabled && !event.isEnabled()) {
+            return null;
+        }
+        return new Timer(phase, event);
+    }
+
+    private static synchronized void record(String source, Phase phase, long nanos) {
+        TIMINGS.computeIfAbsent(source, s -> new long[Phase.values().length])[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * The phases of loading a file
+     */
+    public enum Phase {
+        READ("read"),
+        JSON_PARSE("json_parse"),
+        NODE_CONSTRUCTION("node_construction"),
+        CLASS_LOAD("class_load"),
+        METHOD_LOOKUP("method_lookup"),
+        BUILDER_WIRING("builder_wiring");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    static final class Timer implements AutoCloseable {
+        private final Phase phase;
+        private final LoadPhaseEvent event;
+        private final Timer parent;
+        private final long start;
+        private long nested;
+
+        private Timer(Phase phase, LoadPhaseEvent event) {
+            this.phase = phase;
+            this.event = event;
+            this.parent = CURRENT.get();
+            CURRENT.set(this);
+            event.begin();
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - start;
+            if (parent != null) {
+                parent.nested += elapsed;
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+
+            String source = SOURCE.get() != null ? SOURCE.get() : "<unknown>";
+            if (enabled) {
+                record(source, phase, elapsed - nested);
+            }
+            if (event.shouldCommit()) {
+                event.source = source;
+                event.phase = phase.getName();
+                event.exclusiveTime = elapsed - nested;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+/**
+ * An estimate of the memory used by a command tree. Nodes that are shared by redirects or fragments are only counted once.
+ * <p>
+ * The sizes are estimates for a 64 bit JVM with compressed references, and include the nodes, their child maps, names and
+ * argument types. Commands, requirements and suggestion providers are not included, as they are usually shared lambdas.
+ * The retained size of a top level command only includes what no other top level command can reach, not counting redirects to the root.
+ */
+public final class MemoryReport {
+    private static final int NODE_BYTES = 48;
+    private static final int MAP_BYTES = 56;
+    private static final int MAP_ENTRY_BYTES = 40;
+    private static final int ARGUMENT_TYPE_BYTES = 24;
+    private static final Object SHARED = new Object();
+
+    private final int nodes;
+    private final Map<String, Integer> nodesByType;
+    private final int argumentTypes;
+    private final int distinctArgumentTypes;
+    private final int strings;
+    private final int duplicateStrings;
+    private final long duplicateStringBytes;
+    private final long estimatedBytes;
+    private final long sharedBytes;
+    private final Map<String, Long> retainedBytes;
+
+    private MemoryReport(CommandNode<?> root) {
+        List<? extends CommandNode<?>> commands = root instanceof RootCommandNode ? List.copyOf(root.getChildren()) : List.of(root);
+
+        // Finds which top level command each node, name and argument type belongs to
+        Map<Object, Object> owners = new IdentityHashMap<>();
+        for (CommandNode<?> command : commands) {
+            Set<Object> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+            walk(command, reachable);
+            for (Object object : reachable) {
+                owners.merge(object, command, (a, b) -> SHARED);
+            }
+        }
+        Set<Object> all = Collections.newSetFromMap(new IdentityHashMap<>());
+        walk(root, all);
+
+        Map<String, Integer> byType = new TreeMap<>();
+        Set<Object> types = new HashSet<>();
+        Map<String, Integer> stringCounts = new HashMap<>();
+        Map<Object, Long> retained = new IdentityHashMap<>();
+        int nodeCount = 0;
+        int typeCount = 0;
+        int stringCount = 0;
+        long total = 0;
+        long shared = 0;
+        long duplicateBytes = 0;
+
+        for (Object object : all) {
+            long size;
+            if (object instanceof CommandNode<?> node) {
+                nodeCount++;
+                byType.merge(getType(node), 1, Integer::sum);
+                size = sizeOf(node);
+            } else if (object instanceof String string) {
+                stringCount++;
+                size = sizeOf(string);
+                if (stringCounts.merge(string, 1, Integer::sum) > 1) {
+                    duplicateBytes += size;
+                }
+            } else {
+                typeCount++;
+                types.add(object);
+                size = ARGUMENT_TYPE_BYTES;
+            }
+
+            total += size;
+            Object owner = owners.get(object);
+            if (owner == SHARED) {
+                shared += size;
+            } else if (owner != null) {
+                retained.merge(owner, size, Long::sum);
+            }
+        }
+
+        Map<String, Long> retainedByName = new LinkedHashMap<>();
+        for (CommandNode<?> command : commands) {
+            retainedByName.put(command.getName(), retained.getOrDefault(command, 0L));
+        }
+
+        this.nodes = nodeCount;
+        this.nodesByType = Collections.unmodifiableMap(byType);
+        this.argumentTypes = typeCount;
+        this.distinctArgumentTypes = types.size();
+        this.strings = stringCount;
+        this.duplicateStrings = stringCount - stringCounts.size();
+        this.duplicateStringBytes = duplicateBytes;
+        this.estimatedBytes = total;
+        this.sharedBytes = shared;
+        this.retainedBytes = Collections.unmodifiableMap(retainedByName);
+    }
+
+    /**
+     * Creates a report for every command in a dispatcher
+     *
+     * @param dispatcher The dispatcher to report on
+     * @return The report
+     */
+    public static MemoryReport of(CommandDispatcher<?> dispatcher) {
+        return new MemoryReport(dispatcher.getRoot());
+    }
+
+    /**
+     * Creates a report for a command. If the node is a root node, every child is a top level command.
+     *
+     * @param node The command to report on
+     * @return The report
+     */
+    public static MemoryReport of(CommandNode<?> node) {
+        return new MemoryReport(node);
+    }
+
+    private static void walk(CommandNode<?> start, Set<Object> visited) {
+        Deque<CommandNode<?>> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            CommandNode<?> node = queue.poll();
+            // Redirects to the root do not make the whole tree part of a command
+            if ((node instanceof RootCommandNode && node != start) || !visited.add(node)) {
+                continue;
+            }
+
+            if (node instanceof LiteralCommandNode<?> literal) {
+                visited.add(literal.getLiteral());
+            } else if (node instanceof ArgumentCommandNode<?, ?> argument) {
+                visited.add(argument.getName());
+                visited.add(argument.getType());
+            }
+            queue.addAll(node.getChildren());
+            if (node.getRedirect() != null) {
+                queue.add(node.getRedirect());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getType(CommandNode<?> node) {
+        if (node instanceof RootCommandNode) {
+            return "brigadier:root";
+        }
+        if (!(node instanceof ArgumentCommandNode<?, ?> argumentNode)) {
+            return "brigadier:literal";
+        }
+
+        ArgumentType<?> type = argumentNode.getType();
+        try {
+            JsonObject argument = new JsonObject();
+            BrigadierArgumentParsers.get((Class<? extends ArgumentType<?>>) type.getClass()).parse(argument, type);
+            return argument.get(StringConstants.TYPE).getAsString();
+        } catch (IllegalArgumentException e) {
+            return type.getClass().getName();
+        }
+    }
+
+    private static long sizeOf(CommandNode<?> node) {
+        // The children map, and the literals or arguments map
+        int children = node.getChildren().size();
+        int literals = 0;
+        for (CommandNode<?> child : node.getChildren()) {
+            if (child instanceof LiteralCommandNode) {
+                literals++;
+            }
+        }
+        return NODE_BYTES + sizeOf(children) + sizeOf(literals) + sizeOf(children - literals);
+    }
+
+    private static long sizeOf(int entries) {
+        if (entries == 0) {
+            return MAP_BYTES;
+        }
+        int table = 16;
+        while (table * 3 / 4 < entries) {
+            table *= 2;
+        }
+        return MAP_BYTES + 16 + 4L * table + (long) MAP_ENTRY_BYTES * entries;
+    }
+
+    private static long sizeOf(String string) {
+        // The string and its byte array, assuming compact strings
+        return 24 + align(16 + string.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    /**
+     * @return The number of distinct nodes
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return The number of nodes for each argument type, by the type in json
+     */
+    public Map<String, Integer> getNodesByType() {
+        return nodesByType;
+    }
+
+    /**
+     * @return The number of argument type instances
+     */
+    public int getArgumentTypes() {
+        return argumentTypes;
+    }
+
+    /**
+     * @return The number of argument types that are not equal to each other
+     */
+    public int getDistinctArgumentTypes() {
+        return distinctArgumentTypes;
+    }
+
+    /**
+     * @return The number of name and literal string instances
+     */
+    public int getStrings() {
+        return strings;
+    }
+
+    /**
+     * @return The number of string instances that are equal to another instance
+     */
+    public int getDuplicateStrings() {
+        return duplicateStrings;
+    }
+
+    public long getDuplicateStringBytes() {
+        return duplicateStringBytes;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return The bytes that can be reached from more than one top level command
+     */
+    public long getSharedBytes() {
+        return sharedBytes;
+    }
+
+    /**
+     * @return The bytes that only each top level command can reach, by its name
+     */
+    public Map<String, Long> getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Converts the report to json, so it can be saved and compared over time
+     *
+     * @return The json object for the report
+     */
+    public JsonObject toJson() {
+        JsonObject object = new JsonObject();
+        object.addProperty("nodes", nodes);
+        JsonObject types = new JsonObject();
+        nodesByType.forEach(types::addProperty);
+        object.add("nodes_by_type", types);
+        object.addProperty("argument_types", argumentTypes);
+        object.addProperty("distinct_argument_types", distinctArgumentTypes);
+        object.addProperty("strings", strings);
+        object.addProperty("duplicate_strings", duplicateStrings);
+        object.addProperty("duplicate_string_bytes", duplicateStringBytes);
+        object.addProperty("estimated_bytes", estimatedBytes);
+        object.addProperty("shared_bytes", sharedBytes);
+        JsonObject retained = new JsonObject();
+        retainedBytes.forEach(retained::addProperty);
+        object.add("retained_bytes", retained);
+        return object;
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toString();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.context.CommandContextBuilder;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * Caches the successful {@link ParseResults} of a dispatcher, so repeated inputs skip parsing. Parses are keyed by the input
+ * and a fingerprint of the source, and the least recently used parses are removed first.
+ * <p>
+ * The fingerprint must be equal only for sources that pass the same requirements, like a permission level, as sources with
+ * the same fingerprint share parses, and a source that can use more nodes could take a different branch of the tree.
+ * A cached parse is only used if the source can use every node in it, including the nodes after a redirect, otherwise the input is parsed again for that source.
+ * The cache is cleared when commands are registered with {@link JsonToBrigadier#register(CommandDispatcher, String, Class)},
+ * and {@link ParseCache#invalidate()} should be called when commands are changed in any other way.
+ *
+ * @param <S> The source type for the dispatcher
+ */
+public final class ParseCache<S> {
+    private static final Map<CommandDispatcher<?>, AtomicInteger> GENERATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final CommandDispatcher<S> dispatcher;
+    private final Function<S, Object> fingerprint;
+    private final AtomicInteger generation;
+    private final Map<List<Object>, ParseResults<S>> cache;
+    private int cachedGeneration;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache of up to 1024 parses
+     *
+     * @param dispatcher  The dispatcher to parse with
+     * @param fingerprint The function that creates the fingerprint of a source, which must capture every permission the requirements check
+     */
+    public ParseCache(CommandDispatcher<S> dispatcher, Function<S, Object> fingerprint) {
+        this(dispatcher, 1024, fingerprint);
+    }
+
+    /**
+     * Creates a cache
+     *
+     * @param dispatcher  The dispatcher to parse with
+     * @param maximumSize The maximum number of parses to cache
+     * @param fingerprint The function that creates the fingerprint of a source, which must capture every permission the requirements check
+     */
+    public ParseCache(CommandDispatcher<S> dispatcher, int maximumSize, Function<S, Object> fingerprint) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        this.dispatcher = dispatcher;
+        this.fingerprint = fingerprint;
+        this.generation = GENERATIONS.computeIfAbsent(dispatcher, d -> new AtomicInteger());
+        this.cachedGeneration = generation.get();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, ParseResults<S>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    static void reloaded(CommandDispatcher<?> dispatcher) {
+        AtomicInteger generation = GENERATIONS.get(dispatcher);
+        if (generation != null) {
+            generation.incrementAndGet();
+        }
+    }
+
+    public CommandDispatcher<S> getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Removes all cached parses
+     */
+    public synchronized void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * Finds the cached parse for the input, or parses it and caches the result if it was successful
+     *
+     * @param input  The command to parse
+     * @param source The source to parse the command for
+     * @return The parse results, with the context for the source
+     */
+    public ParseResults<S> parse(String input, S source) {
+        ParseResults<S> parse = getCached(input, source);
+        return parse != null ? parse : parseUncached(input, source);
+    }
+
+    /**
+     * Executes the input with a cached parse if there is one
+     *
+     * @param input  The command to execute
+     * @param source The source to execute the command as
+     * @return The result of the command
+     * @throws CommandSyntaxException If the command could not be parsed or failed to execute
+     */
+    public int execute(String input, S source) throws CommandSyntaxException {
+        return dispatcher.execute(parse(input, source));
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    ParseResults<S> getCached(String input, S source) {
+        ParseResults<S> parse;
+        synchronized (this) {
+            if (cachedGeneration != generation.get()) {
+                cachedGeneration = generation.get();
+                cache.clear();
+            }
+            parse = cache.get(List.of(fingerprint.apply(source), input));
+        }
+
+        // Requirements are tested without holding the lock, as they could be slow
+        boolean usable = parse != null && canUse(parse, source);
+        synchronized (this) {
+            if (usable) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        return usable ? withSource(parse, source) : null;
+    }
+
+    ParseResults<S> parseUncached(String input, S source) {
+        int parsedGeneration = generation.get();
+        ParseResults<S> parse = dispatcher.parse(input, source);
+        if (!parse.getReader().canRead() && parse.getExceptions().isEmpty() && parse.getContext().getLastChild().getCommand() != null) {
+            synchronized (this) {
+                // Parses that raced with a reload are not cached
+                if (parsedGeneration == cachedGeneration && parsedGeneration == generation.get()) {
+                    cache.put(List.of(fingerprint.apply(source), input), parse);
+                }
+            }
+        }
+        return parse;
+    }
+
+    private boolean canUse(ParseResults<S> parse, S source) {
+        // Brigadier checks the nodes after a redirect against the parsing source too, so every context is checked
+        for (CommandContextBuilder<S> context = parse.getContext(); context != null; context = context.getChild()) {
+            for (ParsedCommandNode<S> node : context.getNodes()) {
+                if (!node.getNode().canUse(source)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private ParseResults<S> withSource(ParseResults<S> parse, S source) {
+        if (parse.getContext().getSource() == source) {
+            return parse;
+        }
+        return new ParseResults<>(parse.getContext().copy().withSource(source), parse.getReader(), parse.getExceptions());
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caches the results of {@code requires} predicates that are marked with {@code "cache_requires": true}.
+ * Results are stored per source, so only predicates that depend on nothing but the source (like a permission level) should be cached.
+ * Call {@link RequirementCache#invalidate(Object)} when the permissions of a source change.
+ * <p>
+ * By default sources are only weakly referenced, so caching a result does not keep the source from being garbage collected.
+ */
+public final class RequirementCache {
+    private static final Map<Object, SourceResults> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+
+    private static volatile int maximumSize = 1024;
+    private static volatile long expiryNanos = Duration.ofMinutes(1).toNanos();
+    private static volatile Function<Object, Object> sourceKey = null;
+
+    /**
+     * Removes all cached results for a source
+     *
+     * @param source The source to invalidate
+     */
+    public static void invalidate(Object source) {
+        CACHE.remove(getKey(source, false));
+    }
+
+    /**
+     * Removes all cached results
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    /**
+     * Sets the maximum number of sources to cache results for. Expired sources are removed first when the cache is full.
+     *
+     * @param size The maximum number of sources
+     */
+    public static void setMaximumSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative");
+        }
+        maximumSize = size;
+        trim(System.nanoTime());
+    }
+
+    /**
+     * Sets how long the results for a source are kept
+     *
+     * @param expiry The time to keep the results for
+     */
+    public static void setExpiry(Duration expiry) {
+        expiryNanos = expiry.toNanos();
+    }
+
+    /**
+     * Sets the function used to find the cache key for a source. By default the source itself is the key.
+     * This is useful when new sources are created for the same player, i.e. the key could be the player's id.
+     * Keys from this function are strongly referenced until they expire or are removed, so they should be small values like ids.
+     *
+     * @param key The function that converts a source to its key, or null to use the source itself
+     */
+    public static void setSourceKey(Function<Object, Object> key) {
+        sourceKey = key;
+        CACHE.clear();
+    }
+
+    static <T> Predicate<T> cache(Predicate<T> predicate) {
+        return new CachedPredicate<>(predicate);
+    }
+
+    private static <T> boolean test(CachedPredicate<T> predicate, T source) {
+        if (source == null && sourceKey == null) {
+            return predicate.predicate.test(null);
+        }
+
+        long now = System.nanoTime();
+        Object key = getKey(source, false);
+        SourceResults results = CACHE.get(key);
+        if (results == null || now - results.created > expiryNanos) {
+            SourceResults created = new SourceResults(now);
+            if (results == null ? CACHE.putIfAbsent(getKey(source, true), created) == null : CACHE.replace(key, results, created)) {
+                results = created;
+                purge();
+                if (CACHE.size() > maximumSize) {
+                    trim(now);
+                }
+            } else {
+                // Another thread stored results first
+                results = CACHE.getOrDefault(key, created);
+            }
+        }
+
+        Boolean result = results.results.get(predicate);
+        if (result != null) {
+            return result;
+        }
+
+        // Two threads can test the predicate at the same time, which only costs a second check
+        boolean tested = predicate.predicate.test(source);
+        results.results.put(predicate, tested);
+        return tested;
+    }
+
+    /**
+     * Finds the key for a source. Only keys that are stored are registered with the reference queue.
+     */
+    private static Object getKey(Object source, boolean stored) {
+        Function<Object, Object> key = sourceKey;
+        if (key != null) {
+            return key.apply(source);
+        }
+        return new SourceReference(source, stored ? COLLECTED : null);
+    }
+
+    private static void purge() {
+        Reference<?> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            CACHE.remove(collected);
+        }
+    }
+
+    private static void trim(long now) {
+        CACHE.values().removeIf(results -> now - results.created > expiryNanos);
+        Iterator<Object> iterator = CACHE.keySet().iterator();
+        while (CACHE.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    static final class CachedPredicate<T> implements Predicate<T> {
+        final Predicate<T> predicate;
+
+        private CachedPredicate(Predicate<T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean test(T source) {
+            return RequirementCache.test(this, source);
+        }
+
+        @Override
+        public String toString() {
+            return predicate.toString();
+        }
+    }
+
+    /**
+     * A weak reference to a source that is equal to every other reference to the same source
+     */
+    private static final class SourceReference extends WeakReference<Object> {
+        private final int hash;
+
+        private SourceReference(Object source, ReferenceQueue<Object> queue) {
+            super(source, queue);
+            this.hash = System.identityHashCode(source);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            // Collected references are only equal to themselves, so that they can still be removed
+            Object source = get();
+            return other instanceof SourceReference reference && source != null && source == reference.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class SourceResults {
+        private final long created;
+        private final Map<CachedPredicate<?>, Boolean> results = new ConcurrentHashMap<>();
+
+        private SourceResults(long created) {
+            this.created = created;
+        }
+    }
+}
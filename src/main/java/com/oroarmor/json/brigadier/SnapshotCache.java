@@ -0,0 +1,426 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+import static com.oroarmor.json.brigadier.StringConstants.*;
+
+/**
+ * Saves the commands built from JSON files to a snapshot file, so that later loads of the same files can skip parsing the JSON.
+ * The snapshot stores the shape of the tree, the arguments and the {@code Class::method} of each handler, and is keyed by a hash
+ * of the contents of the files. Shared nodes from redirects and fragments are still shared when the snapshot is loaded.
+ * <p>
+ * Only trees built from JSON can be saved. A tree with lambdas, custom suggestions or redirect modifiers is loaded from the
+ * files every time instead.
+ */
+public final class SnapshotCache {
+    private static final int MAGIC = 0x4A544253;
+    private static final int VERSION = 1;
+    private static final Pattern HANDLER = Pattern.compile("[\\w.$]+::\\w+|\\w+");
+
+    private static final byte ROOT = 0;
+    private static final byte LITERAL = 1;
+    private static final byte ARGUMENT_NODE = 2;
+
+    private static final byte STRING_VALUE = 0;
+    private static final byte INTEGER_VALUE = 1;
+    private static final byte DECIMAL_VALUE = 2;
+    private static final byte BOOLEAN_VALUE = 3;
+
+    private static final int CACHE_REQUIRES_FLAG = 1;
+    private static final int FORK_FLAG = 2;
+
+    /**
+     * Registers the commands in the files to the dispatcher, using the snapshot if it was made from the same files.
+     * Otherwise, the files are registered with {@link JsonToBrigadier#register(CommandDispatcher, Path, Class)} and a new snapshot is saved.
+     * The dispatcher should not have any other commands, as they are saved in the snapshot too.
+     *
+     * @param dispatcher   The dispatcher to register the commands to
+     * @param files        The JSON files, in the order they are registered
+     * @param contextClass The class for the context that the command executes in
+     * @param snapshot     The path to the snapshot file
+     * @param <T>          The command context type
+     * @return If the commands were loaded from the snapshot
+     */
+    public static <T> boolean register(CommandDispatcher<T> dispatcher, List<Path> files, Class<T> contextClass, Path snapshot) {
+        byte[] hash = hash(files, contextClass);
+
+        if (Files.exists(snapshot)) {
+            try {
+                if (read(dispatcher, contextClass, snapshot, hash)) {
+                    ParseCache.reloaded(dispatcher);
+                    return true;
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Unable to load command snapshot " + snapshot + ": " + e);
+            }
+        }
+
+        for (Path file : files) {
+            JsonToBrigadier.register(dispatcher, file, contextClass);
+        }
+
+        try {
+            write(dispatcher.getRoot(), snapshot, hash);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Unable to save command snapshot " + snapshot + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static byte[] hash(List<Path> files, Class<?> contextClass) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(4).putInt(VERSION).array());
+            digest.update(contextClass.getName().getBytes(StandardCharsets.UTF_8));
+            for (Path file : files) {
+                byte[] contents = Files.readAllBytes(file);
+                digest.update(ByteBuffer.allocate(4).putInt(contents.length).array());
+                digest.update(contents);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            System.err.println("Invalid path to JSON file");
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> void write(RootCommandNode<T> root, Path snapshot, byte[] hash) throws IOException {
+        // Every node gets an index, so that shared nodes and redirects are written as references
+        List<CommandNode<T>> nodes = new ArrayList<>();
+        Map<CommandNode<T>, Integer> indices = new IdentityHashMap<>();
+        Deque<CommandNode<T>> queue = new ArrayDeque<>();
+        queue.add(root);
+        indices.put(root, 0);
+        while (!queue.isEmpty()) {
+            CommandNode<T> node = queue.poll();
+            nodes.add(node);
+            List<CommandNode<T>> next = new ArrayList<>(node.getChildren());
+            if (node.getRedirect() != null) {
+                next.add(node.getRedirect());
+            }
+            for (CommandNode<T> child : next) {
+                if (!indices.containsKey(child)) {
+                    indices.put(child, indices.size());
+                    queue.add(child);
+                }
+            }
+        }
+
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream nodeBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(nodeBytes);
+        out.writeInt(nodes.size());
+        for (CommandNode<T> node : nodes) {
+            writeNode(out, node, indices, strings);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(hash.length);
+        header.write(hash);
+        header.writeInt(strings.values.size());
+        for (String value : strings.values) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            header.writeInt(encoded.length);
+            header.write(encoded);
+        }
+        nodeBytes.writeTo(header);
+        header.flush();
+
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        try {
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeNode(DataOutputStream out, CommandNode<T> node, Map<CommandNode<T>, Integer> indices, StringTable strings) throws IOException {
+        // The root always has a modifier, which is recreated with the dispatcher
+        if (!(node instanceof RootCommandNode) && node.getRedirectModifier() != null) {
+            throw new IllegalArgumentException("Command " + node.getName() + " has a redirect modifier");
+        }
+
+        if (node instanceof RootCommandNode) {
+            out.writeByte(ROOT);
+        } else if (node instanceof LiteralCommandNode) {
+            out.writeByte(LITERAL);
+            out.writeInt(strings.get(node.getName()));
+        } else {
+            ArgumentCommandNode<T, ?> argument = (ArgumentCommandNode<T, ?>) node;
+            if (argument.getCustomSuggestions() != null) {
+                throw new IllegalArgumentException("Command " + node.getName() + " has custom suggestions");
+            }
+            out.writeByte(ARGUMENT_NODE);
+            out.writeInt(strings.get(node.getName()));
+
+            JsonObject type = new JsonObject();
+            BrigadierArgumentParsers.get((Class<? extends ArgumentType<?>>) argument.getType().getClass()).parse(type, argument.getType());
+            out.writeInt(type.size());
+            for (Map.Entry<String, JsonElement> property : type.entrySet()) {
+                out.writeInt(strings.get(property.getKey()));
+                JsonPrimitive value = property.getValue().getAsJsonPrimitive();
+                if (value.isBoolean()) {
+                    out.writeByte(BOOLEAN_VALUE);
+                    out.writeBoolean(value.getAsBoolean());
+                } else if (value.isNumber() && (value.getAsNumber() instanceof Double || value.getAsNumber() instanceof Float)) {
+                    out.writeByte(DECIMAL_VALUE);
+                    out.writeDouble(value.getAsDouble());
+                } else if (value.isNumber()) {
+                    out.writeByte(INTEGER_VALUE);
+                    out.writeLong(value.getAsLong());
+                } else {
+                    out.writeByte(STRING_VALUE);
+                    out.writeInt(strings.get(value.getAsString()));
+                }
+            }
+        }
+
+        int flags = 0;
+        Command<T> command = node.getCommand();
+        out.writeInt(command == null ? -1 : strings.get(describe(node, command)));
+
+        // The requirement of the root is always met
+        Predicate<T> requirement = node instanceof RootCommandNode ? null : node.getRequirement();
+        if (requirement instanceof RequirementCache.CachedPredicate<T> cached) {
+            requirement = cached.predicate;
+            flags |= CACHE_REQUIRES_FLAG;
+        }
+        out.writeInt(requirement == null || requirement == BrigadierToJson.<T>defaultRequirement() ? -1 : strings.get(describe(node, requirement)));
+
+        if (node.isFork()) {
+            flags |= FORK_FLAG;
+        }
+        out.writeByte(flags);
+        out.writeInt(node.getRedirect() == null ? -1 : indices.get(node.getRedirect()));
+
+        out.writeInt(node.getChildren().size());
+        for (CommandNode<T> child : node.getChildren()) {
+            out.writeInt(indices.get(child));
+        }
+    }
+
+    private static String describe(CommandNode<?> node, Object handler) {
+        String description = handler.toString();
+        if (!HANDLER.matcher(description).matches()) {
+            throw new IllegalArgumentException("Command " + node.getName() + " has a handler that is not a method: " + description);
+        }
+        return description;
+    }
+
+    private static <T> boolean read(CommandDispatcher<T> dispatcher, Class<T> contextClass, Path snapshot, byte[] hash) throws IOException {
+        // Read into the heap instead of mapping the file, as a mapping is only released when it is collected and blocks replacing the file on Windows
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return false;
+            }
+            byte[] savedHash = new byte[buffer.getInt()];
+            buffer.get(savedHash);
+            if (!Arrays.equals(hash, savedHash)) {
+                return false;
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] encoded = new byte[buffer.getInt()];
+                buffer.get(encoded);
+                strings[i] = new String(encoded, StandardCharsets.UTF_8);
+            }
+
+            SavedNode[] saved = new SavedNode[buffer.getInt()];
+            for (int i = 0; i < saved.length; i++) {
+                saved[i] = readNode(buffer, strings);
+            }
+            if (saved.length == 0 || saved[0].kind != ROOT) {
+                throw new IllegalArgumentException("The first node is not the root");
+            }
+
+            // Nodes are built before they are added to the dispatcher, so a broken snapshot leaves it unchanged
+            List<CommandNode<T>> nodes = new ArrayList<>(Collections.nCopies(saved.length, null));
+            nodes.set(0, dispatcher.getRoot());
+            for (int i = 1; i < saved.length; i++) {
+                build(i, saved, nodes, contextClass, new ArrayDeque<>());
+            }
+            for (int i = 1; i < saved.length; i++) {
+                for (int child : saved[i].children) {
+                    nodes.get(i).addChild(nodes.get(child));
+                }
+            }
+            for (int child : saved[0].children) {
+                dispatcher.getRoot().addChild(nodes.get(child));
+            }
+            return true;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Snapshot is truncated", e);
+        }
+    }
+
+    private static SavedNode readNode(ByteBuffer buffer, String[] strings) {
+        SavedNode node = new SavedNode();
+        node.kind = buffer.get();
+        if (node.kind != ROOT) {
+            node.name = strings[buffer.getInt()];
+        }
+        if (node.kind == ARGUMENT_NODE) {
+            node.argument = new JsonObject();
+            int properties = buffer.getInt();
+            for (int i = 0; i < properties; i++) {
+                String key = strings[buffer.getInt()];
+                switch (buffer.get()) {
+                    case BOOLEAN_VALUE -> node.argument.addProperty(key, buffer.get() != 0);
+                    case DECIMAL_VALUE -> node.argument.addProperty(key, buffer.getDouble());
+                    case INTEGER_VALUE -> node.argument.addProperty(key, buffer.getLong());
+                    case STRING_VALUE -> node.argument.addProperty(key, strings[buffer.getInt()]);
+                    default -> throw new IllegalArgumentException("Unknown argument value type");
+                }
+            }
+        }
+
+        int executes = buffer.getInt();
+        node.executes = executes == -1 ? null : strings[executes];
+        int requires = buffer.getInt();
+        node.requires = requires == -1 ? null : strings[requires];
+        int flags = buffer.get();
+        node.cacheRequires = (flags & CACHE_REQUIRES_FLAG) != 0;
+        node.fork = (flags & FORK_FLAG) != 0;
+        node.redirect = buffer.getInt();
+        node.children = new int[buffer.getInt()];
+        for (int i = 0; i < node.children.length; i++) {
+            node.children[i] = buffer.getInt();
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, S extends ArgumentBuilder<T, S>> CommandNode<T> build(int index, SavedNode[] saved, List<CommandNode<T>> nodes, Class<T> contextClass, Deque<Integer> building) {
+        if (nodes.get(index) != null) {
+            return nodes.get(index);
+        }
+        if (building.contains(index)) {
+            throw new IllegalArgumentException("Redirects form a loop");
+        }
+        building.push(index);
+
+        // Redirect targets are built first, as a node cannot be changed to redirect after it is built
+        SavedNode node = saved[index];
+        CommandNode<T> redirect = node.redirect == -1 ? null : build(node.redirect, saved, nodes, contextClass, building);
+
+        ArgumentBuilder<T, S> builder;
+        if (node.kind == LITERAL) {
+            builder = (ArgumentBuilder<T, S>) LiteralArgumentBuilder.<T>literal(node.name);
+        } else if (node.kind == ARGUMENT_NODE) {
+            JsonObject commandObject = new JsonObject();
+            commandObject.addProperty(NAME, node.name);
+            commandObject.add(ARGUMENT, node.argument);
+            builder = JsonArgumentParsers.get(node.argument.get(TYPE).getAsString()).parse(commandObject);
+        } else {
+            throw new IllegalArgumentException("Only the first node can be the root");
+        }
+
+        if (node.executes != null) {
+            builder.executes(JsonToBrigadier.bindCommand(node.executes, Map.of()));
+        }
+        if (node.requires != null) {
+            builder.requires(JsonToBrigadier.bindRequirement(node.requires, Map.of(), contextClass, node.cacheRequires));
+        }
+        if (redirect != null) {
+            builder.forward(redirect, null, node.fork);
+        }
+
+        CommandNode<T> built = builder.build();
+        nodes.set(index, built);
+        building.pop();
+        return built;
+    }
+
+    private static final class StringTable {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        private int get(String value) {
+            return indices.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+    }
+
+    private static final class SavedNode {
+        private byte kind;
+        private String name;
+        private JsonObject argument;
+        private String executes;
+        private String requires;
+        private boolean cacheRequires;
+        private boolean fork;
+        private int redirect;
+        private int[] children;
+    }
+}
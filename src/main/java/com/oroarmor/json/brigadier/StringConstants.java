@@ -31,4 +31,12 @@ public class StringConstants {
     public static final String CHILDREN = "children";
     public static final String TYPE = "type";
     public static final String EXECUTES = "executes";
+    public static final String ID = "id";
+    public static final String REDIRECT = "redirect";
+    public static final String FORK = "fork";
+    public static final String FRAGMENTS = "fragments";
+    public static final String REF = "$ref";
+    public static final String HANDLERS = "handlers";
+    public static final String CACHE_REQUIRES = "cache_requires";
+    public static final String ROOT = "__root__";
 }
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.context.CommandContextBuilder;
+import com.mojang.brigadier.context.SuggestionContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+
+/**
+ * Computes suggestions on a bounded executor, with a deadline for each request. When the deadline passes, the request
+ * completes with the suggestions from the nodes that finished, instead of waiting for slow suggestion providers.
+ * <p>
+ * Requests for the same client replace each other, so when a newer keystroke arrives the older request is cancelled and
+ * stops at the next node. Cancellation and deadlines are cooperative: a provider that blocks the worker thread is not
+ * interrupted, but the request still completes on time. Requests that the executor rejects complete with no suggestions.
+ *
+ * @param <T> The command context type
+ */
+public final class SuggestionEngine<T> {
+    private final Executor executor;
+    private final long deadlineNanos;
+    private final Map<Object, Request> latest = new ConcurrentHashMap<>();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Creates an engine with its own pool of daemon threads
+     *
+     * @param threads   The number of threads
+     * @param queueSize The number of requests that can wait for a thread
+     * @param deadline  The time each request can take, including the time it waits for a thread
+     * @param unit      The unit of the deadline
+     */
+    public SuggestionEngine(int threads, int queueSize, long deadline, TimeUnit unit) {
+        this(createExecutor(threads, queueSize), deadline, unit);
+    }
+
+    /**
+     * Creates an engine
+     *
+     * @param executor The executor to compute suggestions with, which should be bounded
+     * @param deadline The time each request can take, including the time it waits for the executor
+     * @param unit     The unit of the deadline
+     */
+    public SuggestionEngine(Executor executor, long deadline, TimeUnit unit) {
+        this.executor = executor;
+        this.deadlineNanos = unit.toNanos(deadline);
+    }
+
+    private static ExecutorService createExecutor(int threads, int queueSize) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "Json To Brigadier Suggestions " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the suggestions for a command, cancelling the last request from the same client
+     *
+     * @param dispatcher The dispatcher with the commands
+     * @param client     The client the request is for, or null to never cancel the request
+     * @param input      The command to complete
+     * @param source     The source to get suggestions for
+     * @return The suggestions, which is cancelled if a newer request for the client arrives first
+     */
+    public CompletableFuture<Suggestions> getCompletionSuggestions(CommandDispatcher<T> dispatcher, Object client, String input, T source) {
+        Request request = new Request(input, System.nanoTime() + deadlineNanos);
+        if (client != null) {
+            Request previous = latest.put(client, request);
+            if (previous != null && previous.result.cancel(false)) {
+                cancelled.incrementAndGet();
+            }
+            request.result.whenComplete((suggestions, throwable) -> latest.remove(client, request));
+        }
+
+        CompletableFuture.delayedExecutor(deadlineNanos, TimeUnit.NANOSECONDS).execute(request::expire);
+        try {
+            executor.execute(() -> compute(dispatcher, request, source));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            request.result.complete(Suggestions.merge(input, List.of()));
+        }
+        return request.result;
+    }
+
+    /**
+     * Gets the suggestions for a command that is never cancelled
+     *
+     * @param dispatcher The dispatcher with the commands
+     * @param input      The command to complete
+     * @param source     The source to get suggestions for
+     * @return The suggestions
+     */
+    public CompletableFuture<Suggestions> getCompletionSuggestions(CommandDispatcher<T> dispatcher, String input, T source) {
+        return getCompletionSuggestions(dispatcher, null, input, source);
+    }
+
+    /**
+     * @return The number of requests cancelled by a newer request
+     */
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * @return The number of requests that completed with partial results at their deadline
+     */
+    public long getExpired() {
+        return expired.get();
+    }
+
+    /**
+     * @return The number of requests the executor rejected
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops the threads of an engine that created its own pool. Requests that are running still complete at their deadline.
+     */
+    public void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * The same steps as {@link CommandDispatcher#getCompletionSuggestions(ParseResults)}, stopping between nodes
+     */
+    private void compute(CommandDispatcher<T> dispatcher, Request request, T source) {
+        if (request.isStopped()) {
+            return;
+        }
+        String input = request.input;
+        int cursor = input.length();
+        ParseResults<T> parse = dispatcher.parse(input, source);
+
+        CommandContextBuilder<T> context = parse.getContext();
+        SuggestionContext<T> nodeBeforeCursor = context.findSuggestionContext(cursor);
+        int start = Math.min(nodeBeforeCursor.startPos, cursor);
+        String truncatedInput = input.substring(0, cursor);
+        String truncatedInputLowerCase = truncatedInput.toLowerCase(Locale.ROOT);
+
+        for (CommandNode<T> node : nodeBeforeCursor.parent.getChildren()) {
+            if (request.isStopped()) {
+                request.expire();
+                return;
+            }
+
+            CompletableFuture<Suggestions> future;
+            try {
+                future = node.listSuggestions(context.build(truncatedInput), new SuggestionsBuilder(truncatedInput, truncatedInputLowerCase, start));
+            } catch (CommandSyntaxException ignored) {
+                continue;
+            }
+
+            // Waits on the request too, so that cancelling it frees this thread
+            try {
+                CompletableFuture.anyOf(future, request.result).get(request.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException | CancellationException ignored) {
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                request.add(future.join());
+            }
+        }
+        if (request.isStopped()) {
+            request.expire();
+        } else {
+            request.result.complete(request.merge());
+        }
+    }
+
+    private final class Request {
+        private final String input;
+        private final long deadline;
+        private final CompletableFuture<Suggestions> result = new CompletableFuture<>();
+        private final List<Suggestions> completed = new ArrayList<>();
+
+        private Request(String input, long deadline) {
+            this.input = input;
+            this.deadline = deadline;
+        }
+
+        private boolean isStopped() {
+            return result.isDone() || System.nanoTime() - deadline >= 0;
+        }
+
+        private synchronized void add(Suggestions suggestions) {
+            completed.add(suggestions);
+        }
+
+        private synchronized Suggestions merge() {
+            return Suggestions.merge(input, completed);
+        }
+
+        /**
+         * Completes the request with the suggestions so far, if it is still running
+         */
+        private void expire() {
+            if (result.isDone()) {
+                return;
+            }
+            // Counted first, so that the count is up to date for anyone waiting on the result
+            expired.incrementAndGet();
+            if (!result.complete(merge())) {
+                expired.decrementAndGet();
+            }
+        }
+    }
+}
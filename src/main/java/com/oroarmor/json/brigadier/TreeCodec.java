@@ -0,0 +1,591 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+import static com.oroarmor.json.brigadier.StringConstants.*;
+
+/**
+ * A compact binary format for sending command trees to clients. Trees are sent as a flat array of nodes, which refer to their
+ * children and redirect by index, and to their names and argument types through tables. Argument types are written with the
+ * parsers in {@link BrigadierArgumentParsers}, and read with the parsers in {@link JsonArgumentParsers}.
+ * <p>
+ * An {@link Encoder} and a {@link Decoder} keep the last tree they sent or received, so after the first tree only the nodes,
+ * names and argument types that changed are sent. Each node keeps its index for as long as its path of names stays the same.
+ * Handlers are not sent, so decoded nodes that are executable run a placeholder command, and custom suggestions are not sent.
+ */
+public final class TreeCodec {
+    private static final byte FULL = 0;
+    private static final byte DELTA = 1;
+
+    private static final int KIND_MASK = 3;
+    private static final int ROOT = 0;
+    private static final int LITERAL = 1;
+    private static final int ARGUMENT_NODE = 2;
+    private static final int EXECUTABLE = 4;
+    private static final int REDIRECT_FLAG = 8;
+    private static final int FORK_FLAG = 16;
+
+    private static final byte STRING_VALUE = 0;
+    private static final byte INTEGER_VALUE = 1;
+    private static final byte DECIMAL_VALUE = 2;
+    private static final byte BOOLEAN_VALUE = 3;
+
+    /**
+     * Encodes the trees sent to one client
+     *
+     * @param <T> The command context type
+     */
+    public static final class Encoder<T> {
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<JsonObject, Integer> argumentTypes = new HashMap<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<Integer> freeIds = new ArrayList<>();
+        private int nextId;
+        private Map<Integer, Record> sent = new HashMap<>();
+        private boolean full = true;
+
+        /**
+         * Makes the next tree be sent in full, like when the client lost its tree
+         */
+        public void reset() {
+            full = true;
+        }
+
+        /**
+         * Encodes the nodes of a tree that the source can use. The first tree, and the first tree after {@link Encoder#reset()},
+         * is encoded in full, and every other tree only has the changes since the last tree.
+         *
+         * @param root   The root of the tree
+         * @param source The source the tree is sent to, or null to send every node
+         * @return The encoded tree
+         * @throws IllegalArgumentException If an argument type has no parser, in which case the next tree is sent in full
+         */
+        public byte[] encode(CommandNode<T> root, T source) {
+            try {
+                return encodeTree(root, source);
+            } catch (RuntimeException e) {
+                // The tables may have entries the client never received, so the next tree starts over
+                full = true;
+                throw e;
+            }
+        }
+
+        private byte[] encodeTree(CommandNode<T> root, T source) {
+            if (full) {
+                strings.clear();
+                argumentTypes.clear();
+                ids.clear();
+                freeIds.clear();
+                nextId = 0;
+                sent = new HashMap<>();
+            }
+
+            // Finds the nodes the source can use, and the path of names to each one
+            Map<CommandNode<T>, String> paths = new IdentityHashMap<>();
+            List<CommandNode<T>> nodes = new ArrayList<>();
+            Deque<CommandNode<T>> queue = new ArrayDeque<>();
+            paths.put(root, "");
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                CommandNode<T> node = queue.poll();
+                nodes.add(node);
+                for (CommandNode<T> child : node.getChildren()) {
+                    if (!paths.containsKey(child) && (source == null || child.canUse(source))) {
+                        paths.put(child, paths.get(node) + " " + child.getName());
+                        queue.add(child);
+                    }
+                }
+            }
+
+            Map<String, Integer> newIds = new HashMap<>();
+            Map<CommandNode<T>, Integer> nodeIds = new IdentityHashMap<>();
+            for (CommandNode<T> node : nodes) {
+                Integer id = ids.get(paths.get(node));
+                if (id != null) {
+                    newIds.put(paths.get(node), id);
+                    nodeIds.put(node, id);
+                }
+            }
+            for (String path : ids.keySet()) {
+                if (!newIds.containsKey(path)) {
+                    freeIds.add(ids.get(path));
+                }
+            }
+            freeIds.sort(null);
+            for (CommandNode<T> node : nodes) {
+                if (!nodeIds.containsKey(node)) {
+                    int id = freeIds.isEmpty() ? nextId++ : freeIds.remove(0);
+                    newIds.put(paths.get(node), id);
+                    nodeIds.put(node, id);
+                }
+            }
+
+            Writer writer = new Writer();
+            List<String> addedStrings = new ArrayList<>();
+            List<JsonObject> addedArgumentTypes = new ArrayList<>();
+            Map<Integer, Record> records = new HashMap<>();
+            for (CommandNode<T> node : nodes) {
+                records.put(nodeIds.get(node), createRecord(node, nodeIds, addedStrings, addedArgumentTypes));
+            }
+
+            writer.writeByte(full ? FULL : DELTA);
+            writer.writeVarInt(addedStrings.size());
+            addedStrings.forEach(writer::writeString);
+            writer.writeVarInt(addedArgumentTypes.size());
+            for (JsonObject argumentType : addedArgumentTypes) {
+                writeArgumentType(writer, argumentType);
+            }
+
+            List<Integer> removed = new ArrayList<>();
+            for (Integer id : sent.keySet()) {
+                if (!records.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+            writer.writeVarInt(removed.size());
+            removed.forEach(writer::writeVarInt);
+
+            List<Integer> changed = new ArrayList<>();
+            for (Map.Entry<Integer, Record> record : records.entrySet()) {
+                if (!record.getValue().equals(sent.get(record.getKey()))) {
+                    changed.add(record.getKey());
+                }
+            }
+            changed.sort(null);
+            writer.writeVarInt(changed.size());
+            for (int id : changed) {
+                writer.writeVarInt(id);
+                records.get(id).write(writer);
+            }
+            writer.writeVarInt(nodeIds.get(root));
+
+            ids.clear();
+            ids.putAll(newIds);
+            sent = records;
+            full = false;
+            return writer.toByteArray();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Record createRecord(CommandNode<T> node, Map<CommandNode<T>, Integer> nodeIds, List<String> addedStrings, List<JsonObject> addedArgumentTypes) {
+            int flags;
+            int name = -1;
+            int argumentType = -1;
+            if (node instanceof RootCommandNode) {
+                flags = ROOT;
+            } else if (node instanceof LiteralCommandNode) {
+                flags = LITERAL;
+                name = getString(node.getName(), addedStrings);
+            } else {
+                flags = ARGUMENT_NODE;
+                name = getString(node.getName(), addedStrings);
+                ArgumentType<?> type = ((ArgumentCommandNode<T, ?>) node).getType();
+                JsonObject argument = new JsonObject();
+                BrigadierArgumentParsers.get((Class<? extends ArgumentType<?>>) type.getClass()).parse(argument, type);
+                argumentType = argumentTypes.computeIfAbsent(argument, a -> {
+                    addedArgumentTypes.add(a);
+                    for (Map.Entry<String, JsonElement> property : a.entrySet()) {
+                        getString(property.getKey(), addedStrings);
+                        if (property.getValue().getAsJsonPrimitive().isString()) {
+                            getString(property.getValue().getAsString(), addedStrings);
+                        }
+                    }
+                    return argumentTypes.size();
+                });
+            }
+
+            if (node.getCommand() != null) {
+                flags |= EXECUTABLE;
+            }
+            int redirect = -1;
+            if (node.getRedirect() != null && nodeIds.containsKey(node.getRedirect())) {
+                flags |= REDIRECT_FLAG;
+                redirect = nodeIds.get(node.getRedirect());
+                if (node.isFork()) {
+                    flags |= FORK_FLAG;
+                }
+            }
+
+            List<Integer> children = new ArrayList<>();
+            for (CommandNode<T> child : node.getChildren()) {
+                if (nodeIds.containsKey(child)) {
+                    children.add(nodeIds.get(child));
+                }
+            }
+            return new Record(flags, name, argumentType, redirect, children.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private int getString(String value, List<String> addedStrings) {
+            return strings.computeIfAbsent(value, v -> {
+                addedStrings.add(v);
+                return strings.size();
+            });
+        }
+
+        private void writeArgumentType(Writer writer, JsonObject argumentType) {
+            writer.writeVarInt(argumentType.size());
+            for (Map.Entry<String, JsonElement> property : argumentType.entrySet()) {
+                writer.writeVarInt(strings.get(property.getKey()));
+                JsonPrimitive value = property.getValue().getAsJsonPrimitive();
+                if (value.isBoolean()) {
+                    writer.writeByte(BOOLEAN_VALUE);
+                    writer.writeByte(value.getAsBoolean() ? 1 : 0);
+                } else if (value.isNumber() && (value.getAsNumber() instanceof Double || value.getAsNumber() instanceof Float)) {
+                    writer.writeByte(DECIMAL_VALUE);
+                    writer.writeLong(Double.doubleToLongBits(value.getAsDouble()));
+                } else if (value.isNumber()) {
+                    writer.writeByte(INTEGER_VALUE);
+                    writer.writeVarLong(value.getAsLong());
+                } else {
+                    writer.writeByte(STRING_VALUE);
+                    writer.writeVarInt(strings.get(value.getAsString()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes the trees sent by an {@link Encoder}
+     *
+     * @param <T> The command context type
+     */
+    public static final class Decoder<T> {
+        private final Command<T> placeholder;
+        private List<String> strings = new ArrayList<>();
+        private List<ArgumentType<?>> argumentTypes = new ArrayList<>();
+        private Map<Integer, Record> records = new HashMap<>();
+
+        /**
+         * Creates a decoder where executable nodes return 0
+         */
+        public Decoder() {
+            this(context -> 0);
+        }
+
+        /**
+         * Creates a decoder
+         *
+         * @param placeholder The command for nodes that are executable
+         */
+        public Decoder(Command<T> placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        /**
+         * Applies an encoded tree to the last tree, and builds the result. If the tree cannot be decoded, the last tree is kept.
+         *
+         * @param bytes The encoded tree
+         * @return The root of the tree
+         * @throws IOException If the encoded tree is truncated or invalid
+         */
+        public RootCommandNode<T> decode(byte[] bytes) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try {
+                byte type = buffer.get();
+                if (type != FULL && type != DELTA) {
+                    throw new IOException("Unknown tree encoding " + type);
+                }
+
+                // Changes are read into copies of the tables, which replace the tables once the whole tree is read
+                List<String> newStrings = type == FULL ? new ArrayList<>() : new ArrayList<>(strings);
+                List<ArgumentType<?>> newArgumentTypes = type == FULL ? new ArrayList<>() : new ArrayList<>(argumentTypes);
+                Map<Integer, Record> newRecords = type == FULL ? new HashMap<>() : new HashMap<>(records);
+
+                int addedStrings = readCount(buffer);
+                for (int i = 0; i < addedStrings; i++) {
+                    byte[] encoded = new byte[readCount(buffer)];
+                    buffer.get(encoded);
+                    newStrings.add(new String(encoded, StandardCharsets.UTF_8));
+                }
+                int addedArgumentTypes = readCount(buffer);
+                for (int i = 0; i < addedArgumentTypes; i++) {
+                    newArgumentTypes.add(readArgumentType(buffer, newStrings));
+                }
+
+                int removed = readCount(buffer);
+                for (int i = 0; i < removed; i++) {
+                    newRecords.remove(readVarInt(buffer));
+                }
+                int changed = readCount(buffer);
+                for (int i = 0; i < changed; i++) {
+                    int id = readVarInt(buffer);
+                    newRecords.put(id, Record.read(buffer));
+                }
+                RootCommandNode<T> root = build(readVarInt(buffer), newStrings, newArgumentTypes, newRecords);
+
+                strings = newStrings;
+                argumentTypes = newArgumentTypes;
+                records = newRecords;
+                return root;
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Encoded tree is truncated", e);
+            } catch (RuntimeException e) {
+                // Indices, argument types and node kinds all come from the client's input
+                throw new IOException("Encoded tree is invalid", e);
+            }
+        }
+
+        private ArgumentType<?> readArgumentType(ByteBuffer buffer, List<String> strings) {
+            JsonObject argument = new JsonObject();
+            int properties = readCount(buffer);
+            for (int i = 0; i < properties; i++) {
+                String key = strings.get(readVarInt(buffer));
+                switch (buffer.get()) {
+                    case BOOLEAN_VALUE -> argument.addProperty(key, buffer.get() != 0);
+                    case DECIMAL_VALUE -> argument.addProperty(key, Double.longBitsToDouble(buffer.getLong()));
+                    case INTEGER_VALUE -> argument.addProperty(key, readVarLong(buffer));
+                    case STRING_VALUE -> argument.addProperty(key, strings.get(readVarInt(buffer)));
+                    default -> throw new IllegalArgumentException("Unknown argument value type");
+                }
+            }
+
+            // The type is created once with a placeholder name, and shared by every node that uses it
+            JsonObject commandObject = new JsonObject();
+            commandObject.addProperty(NAME, "argument");
+            commandObject.add(ARGUMENT, argument);
+            ArgumentBuilder<T, ?> builder = JsonArgumentParsers.get(argument.get(TYPE).getAsString()).parse(commandObject);
+            if (!(builder instanceof RequiredArgumentBuilder<?, ?> required)) {
+                throw new IllegalArgumentException("Type " + argument.get(TYPE).getAsString() + " is not an argument type");
+            }
+            return required.getType();
+        }
+
+        private RootCommandNode<T> build(int rootId, List<String> strings, List<ArgumentType<?>> argumentTypes, Map<Integer, Record> records) {
+            Record rootRecord = records.get(rootId);
+            if (rootRecord == null || (rootRecord.flags & KIND_MASK) != ROOT) {
+                throw new IllegalArgumentException("The root node is missing");
+            }
+
+            RootCommandNode<T> root = new RootCommandNode<>();
+            Map<Integer, CommandNode<T>> nodes = new HashMap<>();
+            nodes.put(rootId, root);
+            for (int id : records.keySet()) {
+                build(id, nodes, new HashSet<>(), strings, argumentTypes, records);
+            }
+            for (Map.Entry<Integer, Record> record : records.entrySet()) {
+                CommandNode<T> node = nodes.get(record.getKey());
+                for (int child : record.getValue().children) {
+                    node.addChild(nodes.get(child));
+                }
+            }
+            return root;
+        }
+
+        @SuppressWarnings("unchecked")
+        private CommandNode<T> build(int id, Map<Integer, CommandNode<T>> nodes, Set<Integer> building, List<String> strings, List<ArgumentType<?>> argumentTypes, Map<Integer, Record> records) {
+            if (nodes.containsKey(id)) {
+                return nodes.get(id);
+            }
+            if (!building.add(id)) {
+                throw new IllegalArgumentException("Redirects form a loop");
+            }
+
+            Record record = records.get(id);
+            if (record == null) {
+                throw new IllegalArgumentException("Node " + id + " is missing");
+            }
+            ArgumentBuilder<T, ?> builder = switch (record.flags & KIND_MASK) {
+                case LITERAL -> LiteralArgumentBuilder.literal(strings.get(record.name));
+                case ARGUMENT_NODE -> RequiredArgumentBuilder.argument(strings.get(record.name), (ArgumentType<Object>) argumentTypes.get(record.argumentType));
+                default -> throw new IllegalArgumentException("Only one node can be the root");
+            };
+            if ((record.flags & EXECUTABLE) != 0) {
+                builder.executes(placeholder);
+            }
+            // Redirect targets are built first, as a node cannot be changed to redirect after it is built
+            if ((record.flags & REDIRECT_FLAG) != 0) {
+                builder.forward(build(record.redirect, nodes, building, strings, argumentTypes, records), null, (record.flags & FORK_FLAG) != 0);
+            }
+
+            CommandNode<T> node = builder.build();
+            nodes.put(id, node);
+            return node;
+        }
+    }
+
+    private static final class Record {
+        private final int flags;
+        private final int name;
+        private final int argumentType;
+        private final int redirect;
+        private final int[] children;
+
+        private Record(int flags, int name, int argumentType, int redirect, int[] children) {
+            this.flags = flags;
+            this.name = name;
+            this.argumentType = argumentType;
+            this.redirect = redirect;
+            this.children = children;
+        }
+
+        private void write(Writer writer) {
+            writer.writeByte(flags);
+            int kind = flags & KIND_MASK;
+            if (kind != ROOT) {
+                writer.writeVarInt(name);
+            }
+            if (kind == ARGUMENT_NODE) {
+                writer.writeVarInt(argumentType);
+            }
+            if ((flags & REDIRECT_FLAG) != 0) {
+                writer.writeVarInt(redirect);
+            }
+            writer.writeVarInt(children.length);
+            for (int child : children) {
+                writer.writeVarInt(child);
+            }
+        }
+
+        private static Record read(ByteBuffer buffer) {
+            int flags = buffer.get() & 0xFF;
+            int kind = flags & KIND_MASK;
+            int name = kind != ROOT ? readVarInt(buffer) : -1;
+            int argumentType = kind == ARGUMENT_NODE ? readVarInt(buffer) : -1;
+            int redirect = (flags & REDIRECT_FLAG) != 0 ? readVarInt(buffer) : -1;
+            int[] children = new int[readCount(buffer)];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = readVarInt(buffer);
+            }
+            return new Record(flags, name, argumentType, redirect, children);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Record that)) {
+                return false;
+            }
+            return flags == that.flags && name == that.name && argumentType == that.argumentType && redirect == that.redirect && Arrays.equals(children, that.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * (31 * flags + name) + argumentType) + redirect) + Arrays.hashCode(children);
+        }
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+        private void writeByte(int value) {
+            write(value);
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        private void writeVarLong(long value) {
+            // Zig-zag encoded, so that small negative numbers are also short
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                write((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            write((int) zigZag);
+        }
+
+        private void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        private void writeString(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(encoded.length);
+            write(encoded, 0, encoded.length);
+        }
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Variable length integer is too long");
+    }
+
+    /**
+     * Reads the number of elements that follow. Every element is at least one byte, so a count larger than the remaining bytes
+     * is rejected before anything is allocated for it.
+     */
+    private static int readCount(ByteBuffer buffer) {
+        int count = readVarInt(buffer);
+        if (count < 0 || count > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long zigZag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Variable length integer is too long");
+    }
+}
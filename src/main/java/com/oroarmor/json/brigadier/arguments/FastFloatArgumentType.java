@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier.arguments;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * An {@link ArgumentType} for floats that checks the format of the number before converting it, so malformed numbers do not create a {@link NumberFormatException}.
+ * The errors are the same as {@link com.mojang.brigadier.arguments.FloatArgumentType}.
+ * <p>
+ * A {@link FastFloatArgumentType#quiet()} type throws the same {@link QuietCommandSyntaxException}s for every failure instead,
+ * which do not have a stack trace or the input that failed. The full errors are still available from {@link FastFloatArgumentType#parseVerbose(StringReader)}.
+ */
+public final class FastFloatArgumentType implements ArgumentType<Float> {
+    private static final Collection<String> EXAMPLES = Arrays.asList("0", "1.2", ".5", "-1", "-.5", "-1234.56");
+
+    private final float minimum;
+    private final float maximum;
+    private final boolean quiet;
+    private final CommandSyntaxException tooLow;
+    private final CommandSyntaxException tooHigh;
+    private final CommandSyntaxException expected;
+    private final CommandSyntaxException invalid;
+
+    private FastFloatArgumentType(float minimum, float maximum, boolean quiet) {
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.quiet = quiet;
+
+        if (quiet) {
+            tooLow = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.floatTooLow(), "Float must not be less than " + minimum);
+            tooHigh = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.floatTooHigh(), "Float must not be more than " + maximum);
+            expected = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedFloat(), "Expected float");
+            invalid = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerInvalidFloat(), "Invalid float");
+        } else {
+            tooLow = null;
+            tooHigh = null;
+            expected = null;
+            invalid = null;
+        }
+    }
+
+    public static FastFloatArgumentType floatArg() {
+        return floatArg(-Float.MAX_VALUE);
+    }
+
+    public static FastFloatArgumentType floatArg(float min) {
+        return floatArg(min, Float.MAX_VALUE);
+    }
+
+    public static FastFloatArgumentType floatArg(float min, float max) {
+        return new FastFloatArgumentType(min, max, false);
+    }
+
+    /**
+     * Creates a copy of this type that throws preallocated exceptions without stack traces
+     *
+     * @return The quiet type
+     */
+    public FastFloatArgumentType quiet() {
+        return new FastFloatArgumentType(minimum, maximum, true);
+    }
+
+    public static float getFloat(CommandContext<?> context, String name) {
+        return context.getArgument(name, Float.class);
+    }
+
+    public float getMinimum() {
+        return minimum;
+    }
+
+    public float getMaximum() {
+        return maximum;
+    }
+
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    @Override
+    public Float parse(StringReader reader) throws CommandSyntaxException {
+        if (!quiet) {
+            return parseVerbose(reader);
+        }
+
+        int start = reader.getCursor();
+        float result = Float.parseFloat(FastNumbers.readDecimal(reader, null, null, expected, invalid));
+        if (result < minimum || result > maximum) {
+            reader.setCursor(start);
+            throw result < minimum ? tooLow : tooHigh;
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses the input with the full Brigadier errors, even if this type is quiet
+     *
+     * @param reader The reader for the input
+     * @return The parsed value
+     * @throws CommandSyntaxException If the input is not a valid value
+     */
+    public Float parseVerbose(StringReader reader) throws CommandSyntaxException {
+        int start = reader.getCursor();
+        float result = Float.parseFloat(FastNumbers.readDecimal(reader, CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedFloat(),
+                CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerInvalidFloat(), null, null));
+
+        if (result < minimum) {
+            reader.setCursor(start);
+            throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.floatTooLow().createWithContext(reader, result, minimum);
+        }
+        if (result > maximum) {
+            reader.setCursor(start);
+            throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.floatTooHigh().createWithContext(reader, result, maximum);
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FastFloatArgumentType that)) {
+            return false;
+        }
+        return Float.compare(maximum, that.maximum) == 0 && Float.compare(minimum, that.minimum) == 0 && quiet == that.quiet;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Float.hashCode(minimum) + Float.hashCode(maximum)) + Boolean.hashCode(quiet);
+    }
+
+    @Override
+    public String toString() {
+        if (minimum == -Float.MAX_VALUE && maximum == Float.MAX_VALUE) {
+            return "floatFast()";
+        } else if (maximum == Float.MAX_VALUE) {
+            return "floatFast(" + minimum + ")";
+        } else {
+            return "floatFast(" + minimum + ", " + maximum + ")";
+        }
+    }
+
+    @Override
+    public Collection<String> getExamples() {
+        return EXAMPLES;
+    }
+}
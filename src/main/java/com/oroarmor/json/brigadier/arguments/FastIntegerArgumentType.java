@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier.arguments;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * An {@link ArgumentType} for ints that reads the digits straight from the {@link StringReader}, instead of creating a substring to parse.
+ * When the range is small, the boxed values are created ahead of time so that parsing does not allocate.
+ * Malformed numbers are parsed with {@link StringReader#readInt()}, so the errors are the same as {@link com.mojang.brigadier.arguments.IntegerArgumentType}.
+ * <p>
+ * A {@link FastIntegerArgumentType#quiet()} type throws the same {@link QuietCommandSyntaxException}s for every failure instead,
+ * which do not have a stack trace or the input that failed. The full errors are still available from {@link FastIntegerArgumentType#parseVerbose(StringReader)}.
+ */
+public final class FastIntegerArgumentType implements ArgumentType<Integer> {
+    private static final Collection<String> EXAMPLES = Arrays.asList("0", "123", "-123");
+    private static final int MAX_CACHED_VALUES = 1024;
+
+    private final int minimum;
+    private final int maximum;
+    private final Integer[] values;
+    private final boolean quiet;
+    private final CommandSyntaxException tooLow;
+    private final CommandSyntaxException tooHigh;
+    private final CommandSyntaxException invalid;
+
+    private FastIntegerArgumentType(int minimum, int maximum, boolean quiet) {
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.quiet = quiet;
+
+        if (quiet) {
+            tooLow = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooLow(), "Integer must not be less than " + minimum);
+            tooHigh = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooHigh(), "Integer must not be more than " + maximum);
+            invalid = FastNumbers.quiet(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerInvalidInt(), "Invalid integer");
+        } else {
+            tooLow = null;
+            tooHigh = null;
+            invalid = null;
+        }
+
+        if (minimum <= maximum && (double) maximum - minimum < MAX_CACHED_VALUES) {
+            values = new Integer[maximum - minimum + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = minimum + i;
+            }
+        } else {
+            values = null;
+        }
+    }
+
+    public static FastIntegerArgumentType integer() {
+        return integer(Integer.MIN_VALUE);
+    }
+
+    public static FastIntegerArgumentType integer(int min) {
+        return integer(min, Integer.MAX_VALUE);
+    }
+
+    public static FastIntegerArgumentType integer(int min, int max) {
+        return new FastIntegerArgumentType(min, max, false);
+    }
+
+    /**
+     * Creates a copy of this type that throws preallocated exceptions without stack traces
+     *
+     * @return The quiet type
+     */
+    public FastIntegerArgumentType quiet() {
+        return new FastIntegerArgumentType(minimum, maximum, true);
+    }
+
+    public static int getInteger(CommandContext<?> context, String name) {
+        return context.getArgument(name, Integer.class);
+    }
+
+    public int getMinimum() {
+        return minimum;
+    }
+
+    public int getMaximum() {
+        return maximum;
+    }
+
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    @Override
+    public Integer parse(StringReader reader) throws CommandSyntaxException {
+        if (!quiet) {
+            return parseVerbose(reader);
+        }
+
+        int start = reader.getCursor();
+        int result = FastNumbers.readInt(reader, invalid);
+        if (result < minimum || result > maximum) {
+            reader.setCursor(start);
+            throw result < minimum ? tooLow : tooHigh;
+        }
+
+        return values != null ? values[result - minimum] : Integer.valueOf(result);
+    }
+
+    /**
+     * Parses the input with the full Brigadier errors, even if this type is quiet
+     *
+     * @param reader The reader for the input
+     * @return The parsed value
+     * @throws CommandSyntaxException If the input is not a valid value
+     */
+    public Integer parseVerbose(StringReader reader) throws CommandSyntaxException {
+        int start = reader.getCursor();
+        int result = FastNumbers.readInt(reader, null);
+
+        if (result < minimum) {
+            reader.setCursor(start);
+            throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooLow().createWithContext(reader, result, minimum);
+        }
+        if (result > maximum) {
+            reader.setCursor(start);
+            throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooHigh().createWithContext(reader, result, maximum);
+        }
+
+        return values != null ? values[result - minimum] : Integer.valueOf(result);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FastIntegerArgumentType that)) {
+            return false;
+        }
+        return maximum == that.maximum && minimum == that.minimum && quiet == that.quiet;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * minimum + maximum) + Boolean.hashCode(quiet);
+    }
+
+    @Override
+    public String toString() {
+        if (minimum == Integer.MIN_VALUE && maximum == Integer.MAX_VALUE) {
+            return "integerFast()";
+        } else if (maximum == Integer.MAX_VALUE) {
+            return "integerFast(" + minimum + ")";
+        } else {
+            return "integerFast(" + minimum + ", " + maximum + ")";
+        }
+    }
+
+    @Override
+    public Collection<String> getExamples() {
+        return EXAMPLES;
+    }
+}
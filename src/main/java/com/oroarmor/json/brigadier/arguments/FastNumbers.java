@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier.arguments;
+
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandExceptionType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+
+/**
+ * The number reading shared by the fast argument types
+ */
+final class FastNumbers {
+    private FastNumbers() {
+    }
+
+    /**
+     * Creates the exception that a quiet type throws for every failure of one kind
+     */
+    static CommandSyntaxException quiet(CommandExceptionType type, String message) {
+        return new QuietCommandSyntaxException(type, new LiteralMessage(message));
+    }
+
+    static int readInt(StringReader reader, CommandSyntaxException invalid) throws CommandSyntaxException {
+        return (int) read(reader, Integer.MAX_VALUE, invalid, StringReader::readInt);
+    }
+
+    static long readLong(StringReader reader, CommandSyntaxException invalid) throws CommandSyntaxException {
+        return read(reader, Long.MAX_VALUE, invalid, StringReader::readLong);
+    }
+
+    /**
+     * Reads a number from {@code -maximum - 1} to {@code maximum}. Malformed numbers throw {@code invalid},
+     * or are read again with {@code slowRead} when it is null, so that the error is the same as Brigadier's.
+     */
+    private static long read(StringReader reader, long maximum, CommandSyntaxException invalid, SlowRead slowRead) throws CommandSyntaxException {
+        int start = reader.getCursor();
+        boolean negative = reader.canRead() && reader.peek() == '-';
+        if (negative) {
+            reader.skip();
+        }
+
+        // The number is read as a negative value, as the negative range is larger
+        long limit = negative ? -maximum - 1 : -maximum;
+        long result = 0;
+        int digits = 0;
+        while (reader.canRead() && reader.peek() >= '0' && reader.peek() <= '9') {
+            int digit = reader.read() - '0';
+            if (result < limit / 10 || result * 10 < limit + digit) {
+                return slowRead(reader, start, invalid, slowRead);
+            }
+            result = result * 10 - digit;
+            digits++;
+        }
+
+        if (digits == 0 || reader.canRead() && StringReader.isAllowedNumber(reader.peek())) {
+            return slowRead(reader, start, invalid, slowRead);
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Reads the characters of a decimal number like {@link StringReader#readDouble()}, but checks the format before it is converted,
+     * so that malformed numbers do not create a {@link NumberFormatException}. Without number characters this throws {@code expected},
+     * and for malformed numbers it throws {@code invalid}, or Brigadier's error from the type when they are null.
+     *
+     * @return The characters of the number, which Double and Float can parse
+     */
+    static String readDecimal(StringReader reader, SimpleCommandExceptionType expectedType, DynamicCommandExceptionType invalidType, CommandSyntaxException expected, CommandSyntaxException invalid) throws CommandSyntaxException {
+        int start = reader.getCursor();
+        boolean valid = true;
+        boolean point = false;
+        int digits = 0;
+        while (reader.canRead() && StringReader.isAllowedNumber(reader.peek())) {
+            char c = reader.read();
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if (c != '-' || reader.getCursor() - 1 != start) {
+                valid = false;
+            }
+        }
+
+        if (reader.getCursor() == start) {
+            throw expected != null ? expected : expectedType.createWithContext(reader);
+        }
+        String number = reader.getString().substring(start, reader.getCursor());
+        if (!valid || digits == 0) {
+            reader.setCursor(start);
+            throw invalid != null ? invalid : invalidType.createWithContext(reader, number);
+        }
+        return number;
+    }
+
+    private static long slowRead(StringReader reader, int start, CommandSyntaxException invalid, SlowRead slowRead) throws CommandSyntaxException {
+        reader.setCursor(start);
+        if (invalid != null) {
+            throw invalid;
+        }
+        return slowRead.read(reader);
+    }
+
+    @FunctionalInterface
+    private interface SlowRead {
+        long read(StringReader reader) throws CommandSyntaxException;
+    }
+}
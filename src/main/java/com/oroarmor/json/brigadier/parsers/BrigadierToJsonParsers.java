@@ -26,6 +26,10 @@ package com.oroarmor.json.brigadier.parsers;
 
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.arguments.*;
+import com.oroarmor.json.brigadier.arguments.FastDoubleArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastFloatArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastIntegerArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastLongArgumentType;
 
 public final class BrigadierToJsonParsers {
     public static <T> void parseBoolean(JsonObject argument, ArgumentType<T> argumentType) {
@@ -43,6 +47,62 @@ public final class BrigadierToJsonParsers {
         }
     }
 
+    public static <T> void parseFastDouble(JsonObject argument, ArgumentType<T> argumentType) {
+        argument.addProperty("type", "brigadier:double_fast");
+        FastDoubleArgumentType doubleArgument = (FastDoubleArgumentType) argumentType;
+        if (doubleArgument.getMaximum() != Double.MAX_VALUE) {
+            argument.addProperty("max", doubleArgument.getMaximum());
+            argument.addProperty("min", doubleArgument.getMinimum());
+        } else if (doubleArgument.getMinimum() != -Double.MAX_VALUE) {
+            argument.addProperty("min", doubleArgument.getMinimum());
+        }
+        if (doubleArgument.isQuiet()) {
+            argument.addProperty("quiet", true);
+        }
+    }
+
+    public static <T> void parseFastFloat(JsonObject argument, ArgumentType<T> argumentType) {
+        argument.addProperty("type", "brigadier:float_fast");
+        FastFloatArgumentType floatArgument = (FastFloatArgumentType) argumentType;
+        if (floatArgument.getMaximum() != Float.MAX_VALUE) {
+            argument.addProperty("max", floatArgument.getMaximum());
+            argument.addProperty("min", floatArgument.getMinimum());
+        } else if (floatArgument.getMinimum() != -Float.MAX_VALUE) {
+            argument.addProperty("min", floatArgument.getMinimum());
+        }
+        if (floatArgument.isQuiet()) {
+            argument.addProperty("quiet", true);
+        }
+    }
+
+    public static <T> void parseFastInteger(JsonObject argument, ArgumentType<T> argumentType) {
+        argument.addProperty("type", "brigadier:integer_fast");
+        FastIntegerArgumentType integerArgument = (FastIntegerArgumentType) argumentType;
+        if (integerArgument.getMaximum() != Integer.MAX_VALUE) {
+            argument.addProperty("max", integerArgument.getMaximum());
+            argument.addProperty("min", integerArgument.getMinimum());
+        } else if (integerArgument.getMinimum() != Integer.MIN_VALUE) {
+            argument.addProperty("min", integerArgument.getMinimum());
+        }
+        if (integerArgument.isQuiet()) {
+            argument.addProperty("quiet", true);
+        }
+    }
+
+    public static <T> void parseFastLong(JsonObject argument, ArgumentType<T> argumentType) {
+        argument.addProperty("type", "brigadier:long_fast");
+        FastLongArgumentType longArgument = (FastLongArgumentType) argumentType;
+        if (longArgument.getMaximum() != Long.MAX_VALUE) {
+            argument.addProperty("max", longArgument.getMaximum());
+            argument.addProperty("min", longArgument.getMinimum());
+        } else if (longArgument.getMinimum() != Long.MIN_VALUE) {
+            argument.addProperty("min", longArgument.getMinimum());
+        }
+        if (longArgument.isQuiet()) {
+            argument.addProperty("quiet", true);
+        }
+    }
+
     public static <T> void parseFloat(JsonObject argument, ArgumentType<T> argumentType) {
         argument.addProperty("type", "brigadier:float");
         FloatArgumentType floatArgument = (FloatArgumentType) argumentType;
@@ -60,7 +120,7 @@ public final class BrigadierToJsonParsers {
         if (integerArgument.getMaximum() != Integer.MAX_VALUE) {
             argument.addProperty("max", integerArgument.getMaximum());
             argument.addProperty("min", integerArgument.getMinimum());
-        } else if (integerArgument.getMinimum() != -Integer.MAX_VALUE) {
+        } else if (integerArgument.getMinimum() != Integer.MIN_VALUE) {
             argument.addProperty("min", integerArgument.getMinimum());
         }
     }
@@ -73,7 +133,7 @@ public final class BrigadierToJsonParsers {
         if (longArgument.getMaximum() != Long.MAX_VALUE) {
             argument.addProperty("max", longArgument.getMaximum());
             argument.addProperty("min", longArgument.getMinimum());
-        } else if (longArgument.getMinimum() != -Long.MAX_VALUE) {
+        } else if (longArgument.getMinimum() != Long.MIN_VALUE) {
             argument.addProperty("min", longArgument.getMinimum());
         }
     }
@@ -29,6 +29,10 @@ import com.mojang.brigadier.arguments.*;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.oroarmor.json.brigadier.arguments.FastDoubleArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastFloatArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastIntegerArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastLongArgumentType;
 
 public final class JsonToBrigadierParsers {
     @SuppressWarnings("unchecked")
@@ -39,8 +43,12 @@ public final class JsonToBrigadierParsers {
 
     @SuppressWarnings("unchecked")
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseDouble(JsonObject object) {
-        DoubleArgumentType doubleArgument;
         JsonObject argument = object.get("argument").getAsJsonObject();
+        if (isQuiet(argument)) {
+            return parseFastDouble(object);
+        }
+
+        DoubleArgumentType doubleArgument;
         if (argument.has("min")) {
             double min = argument.get("min").getAsDouble();
             if (argument.has("max")) {
@@ -57,8 +65,12 @@ public final class JsonToBrigadierParsers {
 
     @SuppressWarnings("unchecked")
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseFloat(JsonObject object) {
-        FloatArgumentType floatArgument;
         JsonObject argument = object.get("argument").getAsJsonObject();
+        if (isQuiet(argument)) {
+            return parseFastFloat(object);
+        }
+
+        FloatArgumentType floatArgument;
         if (argument.has("min")) {
             float min = argument.get("min").getAsFloat();
             if (argument.has("max")) {
@@ -75,8 +87,12 @@ public final class JsonToBrigadierParsers {
 
     @SuppressWarnings("unchecked")
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseInteger(JsonObject object) {
-        IntegerArgumentType integerArgument;
         JsonObject argument = object.get("argument").getAsJsonObject();
+        if (isQuiet(argument)) {
+            return parseFastInteger(object);
+        }
+
+        IntegerArgumentType integerArgument;
         if (argument.has("min")) {
             int min = argument.get("min").getAsInt();
             if (argument.has("max")) {
@@ -91,6 +107,90 @@ public final class JsonToBrigadierParsers {
         return (ArgumentBuilder<T, S>) RequiredArgumentBuilder.argument(object.get("name").getAsString(), integerArgument);
     }
 
+    @SuppressWarnings("unchecked")
+    public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseFastDouble(JsonObject object) {
+        FastDoubleArgumentType doubleArgument;
+        JsonObject argument = object.get("argument").getAsJsonObject();
+        if (argument.has("min")) {
+            double min = argument.get("min").getAsDouble();
+            if (argument.has("max")) {
+                doubleArgument = FastDoubleArgumentType.doubleArg(min, argument.get("max").getAsDouble());
+            } else {
+                doubleArgument = FastDoubleArgumentType.doubleArg(min);
+            }
+        } else {
+            doubleArgument = FastDoubleArgumentType.doubleArg();
+        }
+        if (isQuiet(argument)) {
+            doubleArgument = doubleArgument.quiet();
+        }
+
+        return (ArgumentBuilder<T, S>) RequiredArgumentBuilder.argument(object.get("name").getAsString(), doubleArgument);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseFastFloat(JsonObject object) {
+        FastFloatArgumentType floatArgument;
+        JsonObject argument = object.get("argument").getAsJsonObject();
+        if (argument.has("min")) {
+            float min = argument.get("min").getAsFloat();
+            if (argument.has("max")) {
+                floatArgument = FastFloatArgumentType.floatArg(min, argument.get("max").getAsFloat());
+            } else {
+                floatArgument = FastFloatArgumentType.floatArg(min);
+            }
+        } else {
+            floatArgument = FastFloatArgumentType.floatArg();
+        }
+        if (isQuiet(argument)) {
+            floatArgument = floatArgument.quiet();
+        }
+
+        return (ArgumentBuilder<T, S>) RequiredArgumentBuilder.argument(object.get("name").getAsString(), floatArgument);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseFastInteger(JsonObject object) {
+        FastIntegerArgumentType integerArgument;
+        JsonObject argument = object.get("argument").getAsJsonObject();
+        if (argument.has("min")) {
+            int min = argument.get("min").getAsInt();
+            if (argument.has("max")) {
+                integerArgument = FastIntegerArgumentType.integer(min, argument.get("max").getAsInt());
+            } else {
+                integerArgument = FastIntegerArgumentType.integer(min);
+            }
+        } else {
+            integerArgument = FastIntegerArgumentType.integer();
+        }
+        if (isQuiet(argument)) {
+            integerArgument = integerArgument.quiet();
+        }
+
+        return (ArgumentBuilder<T, S>) RequiredArgumentBuilder.argument(object.get("name").getAsString(), integerArgument);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseFastLong(JsonObject object) {
+        FastLongArgumentType longArgument;
+        JsonObject argument = object.get("argument").getAsJsonObject();
+        if (argument.has("min")) {
+            long min = argument.get("min").getAsLong();
+            if (argument.has("max")) {
+                longArgument = FastLongArgumentType.longArg(min, argument.get("max").getAsLong());
+            } else {
+                longArgument = FastLongArgumentType.longArg(min);
+            }
+        } else {
+            longArgument = FastLongArgumentType.longArg();
+        }
+        if (isQuiet(argument)) {
+            longArgument = longArgument.quiet();
+        }
+
+        return (ArgumentBuilder<T, S>) RequiredArgumentBuilder.argument(object.get("name").getAsString(), longArgument);
+    }
+
     @SuppressWarnings("unchecked")
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseLiteral(JsonObject object) {
         return (ArgumentBuilder<T, S>) LiteralArgumentBuilder.literal(object.get("name").getAsString());
@@ -98,12 +198,16 @@ public final class JsonToBrigadierParsers {
 
     @SuppressWarnings("unchecked")
     public static <T, S extends ArgumentBuilder<T, S>> ArgumentBuilder<T, S> parseLong(JsonObject object) {
-        LongArgumentType longArgument;
         JsonObject argument = object.get("argument").getAsJsonObject();
+        if (isQuiet(argument)) {
+            return parseFastLong(object);
+        }
+
+        LongArgumentType longArgument;
         if (argument.has("min")) {
-            int min = argument.get("min").getAsInt();
+            long min = argument.get("min").getAsLong();
             if (argument.has("max")) {
-                longArgument = LongArgumentType.longArg(min, argument.get("max").getAsInt());
+                longArgument = LongArgumentType.longArg(min, argument.get("max").getAsLong());
             } else {
                 longArgument = LongArgumentType.longArg(min);
             }
@@ -131,4 +235,11 @@ public final class JsonToBrigadierParsers {
 
         return (ArgumentBuilder<T, S>) RequiredArgumentBuilder.argument(object.get("name").getAsString(), stringArgument);
     }
+
+    /**
+     * Brigadier's number types cannot be quiet, so quiet numbers are always built as the fast types, which parse the same values with the same errors
+     */
+    private static boolean isQuiet(JsonObject argument) {
+        return argument.has("quiet") && argument.get("quiet").getAsBoolean();
+    }
 }
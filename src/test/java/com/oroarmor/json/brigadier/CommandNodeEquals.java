@@ -27,6 +27,8 @@ package com.oroarmor.json.brigadier;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.tree.ArgumentCommandNode;
 import com.mojang.brigadier.tree.CommandNode;
 
@@ -34,7 +36,7 @@ public class CommandNodeEquals {
     public static <S> boolean equals(CommandNode<S> node, CommandNode<S> otherNode) {
         if (node.getName().equals(otherNode.getName())) {
             if (node instanceof ArgumentCommandNode<S, ?> nodeArgument && otherNode instanceof ArgumentCommandNode<S, ?> otherNodeArgument) {
-                if (!nodeArgument.getType().equals(otherNodeArgument.getType())) {
+                if (!nodeArgument.getType().equals(otherNodeArgument.getType()) && !sameJson(nodeArgument.getType(), otherNodeArgument.getType())) {
                     return false;
                 }
             }
@@ -43,6 +45,21 @@ public class CommandNodeEquals {
         return false;
     }
 
+    /**
+     * Some types, like {@link com.mojang.brigadier.arguments.StringArgumentType}, do not implement equals, so they are compared by their JSON
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean sameJson(ArgumentType<?> type, ArgumentType<?> otherType) {
+        if (type.getClass() != otherType.getClass()) {
+            return false;
+        }
+        JsonObject json = new JsonObject();
+        JsonObject otherJson = new JsonObject();
+        BrigadierArgumentParsers.get((Class<? extends ArgumentType<?>>) type.getClass()).parse(json, type);
+        BrigadierArgumentParsers.get((Class<? extends ArgumentType<?>>) otherType.getClass()).parse(otherJson, otherType);
+        return json.equals(otherJson);
+    }
+
     private static <S> boolean childrenAreEqual(CommandNode<S> node, CommandNode<S> otherNode) {
         if (node.getChildren().size() != otherNode.getChildren().size()) {
             return false;
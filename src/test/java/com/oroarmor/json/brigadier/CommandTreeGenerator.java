@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.context.CommandContext;
+
+/**
+ * Generates random valid command trees in JSON, and an input for every command in them
+ */
+public class CommandTreeGenerator {
+    public static final Map<String, Integer> DEFAULT_WEIGHTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_WEIGHTS.put("brigadier:literal", 6);
+        DEFAULT_WEIGHTS.put("brigadier:integer", 2);
+        DEFAULT_WEIGHTS.put("brigadier:boolean", 1);
+        DEFAULT_WEIGHTS.put("brigadier:double", 1);
+        DEFAULT_WEIGHTS.put("brigadier:float", 1);
+        DEFAULT_WEIGHTS.put("brigadier:string", 2);
+        DEFAULT_WEIGHTS.put("brigadier:long", 1);
+        DEFAULT_WEIGHTS.put("brigadier:integer_fast", 1);
+        DEFAULT_WEIGHTS.put("brigadier:long_fast", 1);
+    }
+
+    private final Random random;
+    private final int size;
+    private final int depth;
+    private final int fanOut;
+    private final List<String> types = new ArrayList<>();
+    private final List<String> inputs = new ArrayList<>();
+    private int nodes = 0;
+
+    /**
+     * @param seed    The seed for the random tree
+     * @param size    The maximum number of nodes
+     * @param depth   The maximum length of a command
+     * @param fanOut  The maximum number of children of a node
+     * @param weights The weight of each argument type. Top level commands are always literals.
+     */
+    public CommandTreeGenerator(long seed, int size, int depth, int fanOut, Map<String, Integer> weights) {
+        this.random = new Random(seed);
+        this.size = size;
+        this.depth = depth;
+        this.fanOut = fanOut;
+        weights.forEach((type, weight) -> {
+            JsonArgumentParsers.get(type);
+            types.addAll(Collections.nCopies(weight, type));
+        });
+    }
+
+    public static int run(CommandContext<Object> context) {
+        return 1;
+    }
+
+    /**
+     * Generates a {@code brigadier:root} tree. Every node executes, so every prefix of a command is also a command.
+     *
+     * @return The tree
+     */
+    public JsonObject generate() {
+        JsonObject root = new JsonObject();
+        root.addProperty("name", "root");
+        JsonObject rootArgument = new JsonObject();
+        rootArgument.addProperty("type", "brigadier:root");
+        root.add("argument", rootArgument);
+
+        Deque<Object[]> queue = new ArrayDeque<>();
+        queue.add(new Object[]{root, 0, ""});
+        while (!queue.isEmpty() && nodes < size) {
+            Object[] entry = queue.poll();
+            JsonObject parent = (JsonObject) entry[0];
+            int level = (int) entry[1];
+            String input = (String) entry[2];
+
+            JsonArray children = new JsonArray();
+            int count = 1 + random.nextInt(fanOut);
+            for (int i = 0; i < count && nodes < size; i++) {
+                String type = level == 0 ? "brigadier:literal" : types.get(random.nextInt(types.size()));
+                JsonObject child = new JsonObject();
+                String childInput = (input.isEmpty() ? "" : input + " ") + createNode(child, type);
+                child.addProperty("executes", "com.oroarmor.json.brigadier.CommandTreeGenerator::run");
+                children.add(child);
+                inputs.add(childInput);
+
+                boolean greedy = child.getAsJsonObject("argument").has("string_type") && child.getAsJsonObject("argument").get("string_type").getAsString().equals("greedy");
+                if (level + 1 < depth && !greedy) {
+                    queue.add(new Object[]{child, level + 1, childInput});
+                }
+            }
+            parent.add("children", children);
+        }
+        return root;
+    }
+
+    /**
+     * @return An input for every generated command
+     */
+    public List<String> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Fills in the node, and returns an input that the node parses
+     */
+    private String createNode(JsonObject node, String type) {
+        int id = nodes++;
+        JsonObject argument = new JsonObject();
+        argument.addProperty("type", type);
+        node.add("argument", argument);
+
+        switch (type) {
+            case "brigadier:literal" -> {
+                node.addProperty("name", "l" + id);
+                return "l" + id;
+            }
+            case "brigadier:boolean" -> {
+                node.addProperty("name", "n" + id);
+                return Boolean.toString(random.nextBoolean());
+            }
+            case "brigadier:string" -> {
+                node.addProperty("name", "n" + id);
+                String stringType = List.of("word", "string", "greedy").get(random.nextInt(3));
+                argument.addProperty("string_type", stringType);
+                return switch (stringType) {
+                    case "word" -> "w" + id;
+                    case "string" -> "\"quoted " + id + "\"";
+                    default -> "greedy text " + id;
+                };
+            }
+            case "brigadier:double", "brigadier:float" -> {
+                node.addProperty("name", "n" + id);
+                // Quarters are exact as both doubles and floats
+                double min = random.nextInt(400) / 4.0 - 50;
+                double max = min + random.nextInt(400) / 4.0;
+                if (random.nextBoolean()) {
+                    argument.addProperty("min", min);
+                    argument.addProperty("max", max);
+                }
+                return Double.toString(min + (max - min) / 2);
+            }
+            default -> {
+                node.addProperty("name", "n" + id);
+                boolean longType = type.startsWith("brigadier:long");
+                long min = longType ? random.nextLong() >> 8 : random.nextInt(2000) - 1000;
+                long max = min + random.nextInt(100_000);
+                int bounds = random.nextInt(3);
+                if (bounds > 0) {
+                    argument.addProperty("min", min);
+                }
+                if (bounds > 1) {
+                    argument.addProperty("max", max);
+                }
+                if (type.endsWith("_fast")) {
+                    argument.addProperty("quiet", random.nextBoolean());
+                }
+                return Long.toString(bounds == 0 ? min / 2 : min + (max - min) / 2);
+            }
+        }
+    }
+}
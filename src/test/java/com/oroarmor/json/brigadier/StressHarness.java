@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * Loads generated command trees and runs dispatch and suggestion load against them from many threads.
+ * Run it with {@code ./gradlew stress}, and configure it with {@code -Dstress.size}, {@code -Dstress.depth},
+ * {@code -Dstress.fanOut}, {@code -Dstress.threads}, {@code -Dstress.operations}, {@code -Dstress.suggestions},
+ * {@code -Dstress.seed} and {@code -Dstress.types}, which is a list like {@code brigadier:literal=6,brigadier:integer=2}.
+ */
+public class StressHarness {
+    public static void main(String[] args) throws InterruptedException {
+        int size = Integer.getInteger("stress.size", 10_000);
+        int depth = Integer.getInteger("stress.depth", 6);
+        int fanOut = Integer.getInteger("stress.fanOut", 8);
+        int threads = Integer.getInteger("stress.threads", Runtime.getRuntime().availableProcessors());
+        int operations = Integer.getInteger("stress.operations", 200_000);
+        double suggestions = Double.parseDouble(System.getProperty("stress.suggestions", "0.2"));
+        long seed = Long.getLong("stress.seed", 0);
+        Map<String, Integer> weights = CommandTreeGenerator.DEFAULT_WEIGHTS;
+        if (System.getProperty("stress.types") != null) {
+            weights = new LinkedHashMap<>();
+            for (String type : System.getProperty("stress.types").split(",")) {
+                String[] parts = type.split("=");
+                weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+            }
+        }
+
+        CommandTreeGenerator generator = new CommandTreeGenerator(seed, size, depth, fanOut, weights);
+        String json = generator.generate().toString();
+        System.out.printf("Generated %d nodes, %d bytes of JSON%n", generator.getInputs().size(), json.length());
+
+        long start = System.nanoTime();
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, json, Object.class);
+        System.out.printf("Loaded in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        boolean roundTrip = roundTrips(dispatcher, generator.getInputs());
+        System.out.printf("Round trip %s in %.1f ms%n", roundTrip ? "matched" : "DID NOT MATCH", (System.nanoTime() - start) / 1e6);
+
+        // The first run warms up the JIT
+        run(dispatcher, generator.getInputs(), threads, operations / threads, suggestions, seed);
+        System.out.println(run(dispatcher, generator.getInputs(), threads, operations / threads, suggestions, seed));
+    }
+
+    /**
+     * Converts the commands to JSON and back, and checks that the commands are the same and still run
+     *
+     * @param dispatcher The dispatcher with the commands
+     * @param inputs     The commands to run
+     * @return If the loaded commands are equal, and run every input
+     */
+    public static boolean roundTrips(CommandDispatcher<Object> dispatcher, List<String> inputs) {
+        CommandDispatcher<Object> loaded = new CommandDispatcher<>();
+        JsonToBrigadier.register(loaded, BrigadierToJson.parse(dispatcher), Object.class);
+        if (!CommandNodeEquals.equals(dispatcher.getRoot(), loaded.getRoot())) {
+            return false;
+        }
+        for (String input : inputs) {
+            try {
+                loaded.execute(input, null);
+            } catch (CommandSyntaxException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes commands and gets suggestions from many threads at once
+     *
+     * @param dispatcher  The dispatcher with the commands
+     * @param inputs      The commands to run
+     * @param threads     The number of threads
+     * @param operations  The number of operations for each thread
+     * @param suggestions The fraction of operations that get suggestions instead of executing
+     * @param seed        The seed for choosing inputs
+     * @return The report
+     */
+    public static Report run(CommandDispatcher<Object> dispatcher, List<String> inputs, int threads, int operations, double suggestions, long seed) throws InterruptedException {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        boolean allocations = threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+        long[][] latencies = new long[threads][operations];
+        AtomicLong failures = new AtomicLong();
+        AtomicLong suggested = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            long[] threadLatencies = latencies[t];
+            Random random = new Random(seed + t);
+            Thread worker = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long allocatedBefore = allocations ? ((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes() : 0;
+                for (int i = 0; i < operations; i++) {
+                    String input = inputs.get(random.nextInt(inputs.size()));
+                    boolean suggest = random.nextDouble() < suggestions;
+                    long start = System.nanoTime();
+                    try {
+                        if (suggest) {
+                            ParseResults<Object> parse = dispatcher.parse(input.substring(0, random.nextInt(input.length() + 1)), null);
+                            dispatcher.getCompletionSuggestions(parse).join();
+                        } else {
+                            dispatcher.execute(input, null);
+                        }
+                    } catch (CommandSyntaxException e) {
+                        failures.incrementAndGet();
+                    }
+                    threadLatencies[i] = System.nanoTime() - start;
+                    if (suggest) {
+                        suggested.incrementAndGet();
+                    }
+                }
+                if (allocations) {
+                    allocated.addAndGet(((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes() - allocatedBefore);
+                }
+            }, "stress-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Report(all, elapsed, suggested.get(), failures.get(), allocations ? allocated.get() : -1);
+    }
+
+    public static final class Report {
+        private final long[] latencies;
+        private final long elapsedNanos;
+        private final long suggestions;
+        private final long failures;
+        private final long allocatedBytes;
+
+        private Report(long[] latencies, long elapsedNanos, long suggestions, long failures, long allocatedBytes) {
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.suggestions = suggestions;
+            this.failures = failures;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long getOperations() {
+            return latencies.length;
+        }
+
+        public long getSuggestions() {
+            return suggestions;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public double getThroughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * @param percentile The percentile, from 0 to 100
+         * @return The latency in nanoseconds
+         */
+        public long getLatency(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+        }
+
+        /**
+         * @return The bytes allocated by each operation, or -1 if the JVM cannot measure allocations
+         */
+        public double getAllocatedBytesPerOperation() {
+            return allocatedBytes < 0 ? -1 : (double) allocatedBytes / latencies.length;
+        }
+
+        /**
+         * @return The megabytes allocated each second, or -1 if the JVM cannot measure allocations
+         */
+        public double getAllocationRate() {
+            return allocatedBytes < 0 ? -1 : allocatedBytes / 1e6 / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d operations (%d suggestions, %d failures) in %.1f ms: %.0f ops/s%n", getOperations(), suggestions, failures, elapsedNanos / 1e6, getThroughput()) +
+                    String.format(Locale.ROOT, "latency us: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n", getLatency(50) / 1e3, getLatency(90) / 1e3, getLatency(99) / 1e3, getLatency(99.9) / 1e3, getLatency(100) / 1e3) +
+                    String.format(Locale.ROOT, "allocation: %.0f bytes/op, %.1f MB/s", getAllocatedBytesPerOperation(), getAllocationRate());
+        }
+    }
+}
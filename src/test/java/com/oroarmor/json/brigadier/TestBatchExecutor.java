@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.List;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBatchExecutor {
+    private static final String JSON = """
+            {
+              "name": "add",
+              "argument": { "type": "brigadier:literal" },
+              "requires": "com.oroarmor.json.brigadier.TestBatchExecutor::requires",
+              "children": [
+                {
+                  "name": "value",
+                  "argument": { "type": "brigadier:integer" },
+                  "executes": "com.oroarmor.json.brigadier.TestBatchExecutor::add"
+                }
+              ]
+            }
+            """;
+
+    private static int total = 0;
+
+    public static int add(CommandContext<Integer> context) {
+        int value = IntegerArgumentType.getInteger(context, "value");
+        total += value * context.getSource();
+        return value;
+    }
+
+    public static boolean requires(Integer level) {
+        return level > 0;
+    }
+
+    private CommandDispatcher<Integer> dispatcher;
+
+    @BeforeEach
+    public void setup() {
+        total = 0;
+        dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON, Integer.class);
+    }
+
+    @Test
+    public void testExecute() {
+        BatchExecutor<Integer> executor = new BatchExecutor<>(dispatcher, level -> level > 0);
+        BatchExecutor.Results results = executor.execute(List.of("add 1", "add 2", "add 1", "add", "add 3"), 1);
+
+        assertEquals(7, total);
+        assertEquals(5, results.getCommands());
+        assertEquals(4, results.getUniqueInputs(), "Identical inputs are parsed once");
+        assertEquals(0, results.getCacheHits());
+        assertEquals(2, results.getResult(1));
+        assertEquals(List.of(3), List.copyOf(results.getFailures().keySet()), "Incomplete command fails");
+
+        results = executor.execute(List.of("add 1", "add 2"), 2);
+        assertEquals(2, results.getCacheHits(), "Parses are shared between batches");
+        assertEquals(13, total, "Cached parses use the new source");
+    }
+
+    @Test
+    public void testRequirementsRechecked() {
+        BatchExecutor<Integer> executor = new BatchExecutor<>(dispatcher, level -> level > 0);
+        executor.execute(List.of("add 1"), 1);
+
+        BatchExecutor.Results results = executor.execute(List.of("add 1"), 0);
+        assertEquals(0, results.getCacheHits(), "Cached parse is not used by a source without permission");
+        assertEquals(1, results.getFailures().size());
+        assertEquals(1, total);
+    }
+
+    @Test
+    public void testThrowingCommand() {
+        dispatcher.register(LiteralArgumentBuilder.<Integer>literal("fail").executes(context -> {
+            throw new IllegalStateException("Command failed");
+        }));
+
+        BatchExecutor<Integer> executor = new BatchExecutor<>(dispatcher, level -> level > 0);
+        BatchExecutor.Results results = executor.execute(List.of("fail", "add 1"), 1);
+        assertTrue(results.getFailures().get(0) instanceof IllegalStateException, "Exception is recorded for the command");
+        assertEquals(1, results.getResult(1), "Batch continues after a command throws");
+        assertEquals(1, total);
+    }
+
+    @Test
+    public void testMaximumSize() {
+        BatchExecutor<Integer> executor = new BatchExecutor<>(dispatcher, 1, level -> level > 0);
+        executor.execute(List.of("add 1", "add 2"), 1);
+        assertEquals(1, executor.execute(List.of("add 2", "add 1"), 1).getCacheHits(), "Only the most recent parse is kept");
+
+        executor.invalidate();
+        assertEquals(0, executor.execute(List.of("add 1", "add 2"), 1).getCacheHits());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCommandEvents {
+    private static final String JSON = """
+            {
+              "name": "test",
+              "argument": { "type": "brigadier:literal" },
+              "requires": "com.oroarmor.json.brigadier.TestCommandEvents::requires",
+              "children": [
+                { "name": "run", "argument": { "type": "brigadier:literal" }, "executes": "com.oroarmor.json.brigadier.TestCommandEvents::run" },
+                { "name": "missing", "argument": { "type": "brigadier:literal" }, "executes": "com.oroarmor.json.brigadier.TestCommandEvents::missing" }
+              ]
+            }
+            """;
+
+    public static int run(CommandContext<Object> context) {
+        return 5;
+    }
+
+    public static boolean requires(Object source) {
+        return true;
+    }
+
+    private static List<RecordedEvent> record(Runnable runnable) throws IOException {
+        Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.oroarmor.json.brigadier.CommandExecution").withoutThreshold();
+            recording.enable("com.oroarmor.json.brigadier.RequirementCheck").withoutThreshold();
+            recording.enable("com.oroarmor.json.brigadier.BindingFailure");
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals("com.oroarmor.json.brigadier." + name)).toList();
+    }
+
+    @Test
+    public void testExecutionEvents() throws IOException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        List<RecordedEvent> events = record(() -> {
+            JsonToBrigadier.register(dispatcher, JSON, Object.class);
+            try {
+                assertEquals(5, dispatcher.execute("test run", new Object()));
+            } catch (CommandSyntaxException e) {
+                fail(e);
+            }
+        });
+
+        List<RecordedEvent> executions = ofType(events, "CommandExecution");
+        assertEquals(1, executions.size());
+        assertEquals("test run", executions.get(0).getString("path"));
+        assertEquals(5, executions.get(0).getInt("result"));
+        assertEquals(TestCommandEvents.class.getName() + "::run", executions.get(0).getString("handler"));
+        assertNull(executions.get(0).getString("failure"));
+
+        assertFalse(ofType(events, "RequirementCheck").isEmpty(), "Requirement checks are recorded when enabled");
+        List<RecordedEvent> failures = ofType(events, "BindingFailure");
+        assertEquals(1, failures.size());
+        assertEquals("load", failures.get(0).getString("stage"));
+    }
+
+    @Test
+    public void testMissingHandlerIsQuiet() throws IOException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON, Object.class);
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        List<RecordedEvent> events;
+        try {
+            System.setErr(new PrintStream(output));
+            events = record(() -> {
+                try {
+                    assertEquals(0, dispatcher.execute("test missing", new Object()));
+                } catch (CommandSyntaxException e) {
+                    fail(e);
+                }
+            });
+        } finally {
+            System.setErr(err);
+        }
+
+        assertEquals(0, output.size(), "Missing handlers do not print when invoked");
+        List<RecordedEvent> failures = ofType(events, "BindingFailure");
+        assertEquals(1, failures.size());
+        assertEquals("invoke", failures.get(0).getString("stage"));
+        assertEquals("executes", failures.get(0).getString("kind"));
+    }
+}
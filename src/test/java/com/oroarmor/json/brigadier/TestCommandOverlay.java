@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCommandOverlay {
+    private static final String OVERLAY = """
+            {
+              "name": "__root__",
+              "argument": { "type": "brigadier:root" },
+              "children": [
+                {
+                  "name": "home",
+                  "argument": { "type": "brigadier:literal" },
+                  "executes": "com.oroarmor.json.brigadier.TestCommandOverlay::home"
+                },
+                {
+                  "name": "teleport",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    {
+                      "name": "spawn",
+                      "argument": { "type": "brigadier:literal" },
+                      "executes": "com.oroarmor.json.brigadier.TestCommandOverlay::home"
+                    }
+                  ]
+                }
+              ]
+            }
+            """;
+
+    private static int homes = 0;
+
+    public static int home(CommandContext<Object> context) {
+        homes++;
+        return 1;
+    }
+
+    private CommandDispatcher<Object> base;
+
+    @BeforeEach
+    public void setup() throws URISyntaxException {
+        Path path = Paths.get(Objects.requireNonNull(TestCommandOverlay.class.getClassLoader().getResource("com/oroarmor/json/brigadier/redirect_command.json")).toURI());
+        base = new CommandDispatcher<>();
+        JsonToBrigadier.register(base, path, Object.class);
+    }
+
+    private CommandDispatcher<Object> createOverlay() {
+        CommandDispatcher<Object> overlay = new CommandDispatcher<>();
+        JsonToBrigadier.register(overlay, OVERLAY, Object.class);
+        return CommandOverlay.overlay(base, overlay);
+    }
+
+    @Test
+    public void testSharedNodes() {
+        CommandDispatcher<Object> tenant = createOverlay();
+        CommandNode<Object> root = tenant.getRoot();
+
+        assertNotNull(root.getChild("home"));
+        assertNull(base.getRoot().getChild("home"), "The base is not changed");
+        assertNull(base.getRoot().getChild("teleport").getChild("spawn"), "Merged commands are copied");
+        assertNotSame(base.getRoot().getChild("teleport"), root.getChild("teleport"));
+        assertSame(base.getRoot().getChild("teleport").getChild("value"), root.getChild("teleport").getChild("value"), "Unchanged nodes are shared");
+        assertSame(root.getChild("teleport"), root.getChild("tp").getRedirect(), "Redirects to copied nodes are copied");
+        assertSame(root, root.getChild("execute").getChild("run").getRedirect(), "Redirects to the root use the new root");
+
+        CommandDispatcher<Object> other = createOverlay();
+        assertNotSame(root.getChild("home"), other.getRoot().getChild("home"), "Overlays do not share their commands");
+    }
+
+    @Test
+    public void testExecute() throws CommandSyntaxException {
+        CommandDispatcher<Object> tenant = createOverlay();
+        homes = 0;
+        tenant.execute("home", new Object());
+        tenant.execute("tp spawn", new Object());
+        tenant.execute("execute as as run home", new Object());
+        assertEquals(3, homes);
+        assertEquals(1, tenant.execute("teleport 5", new Object()), "Base commands still run");
+        assertThrows(CommandSyntaxException.class, () -> base.execute("execute run home", new Object()));
+    }
+
+    @Test
+    public void testSharedNodesAreReadOnly() throws CommandSyntaxException {
+        CommandDispatcher<Object> tenant = createOverlay();
+
+        tenant.register(LiteralArgumentBuilder.literal("warp").executes(TestCommandOverlay::home));
+        tenant.register(LiteralArgumentBuilder.literal("warp").then(LiteralArgumentBuilder.literal("back").executes(TestCommandOverlay::home)));
+        tenant.register(LiteralArgumentBuilder.literal("teleport").then(LiteralArgumentBuilder.literal("back").executes(TestCommandOverlay::home)));
+        homes = 0;
+        tenant.execute("warp back", new Object());
+        tenant.execute("teleport back", new Object());
+        assertEquals(2, homes, "Commands can be added to nodes that are not shared");
+
+        CommandNode<Object> value = base.getRoot().getChild("teleport").getChild("value");
+        Command<Object> command = value.getCommand();
+        assertThrows(IllegalArgumentException.class, () -> tenant.register(LiteralArgumentBuilder.literal("teleport").then(RequiredArgumentBuilder.<Object, Integer>argument("value", IntegerArgumentType.integer()).executes(TestCommandOverlay::home))));
+        assertThrows(IllegalArgumentException.class, () -> tenant.register(LiteralArgumentBuilder.literal("teleport").then(RequiredArgumentBuilder.<Object, Integer>argument("value", IntegerArgumentType.integer()).then(LiteralArgumentBuilder.literal("again")))));
+        assertSame(command, value.getCommand(), "The base is not changed");
+        assertNull(value.getChild("again"), "The base is not changed");
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCommandPublisher {
+    private static final String JSON = """
+            {
+              "name": "test",
+              "argument": { "type": "brigadier:literal" },
+              "children": [
+                {
+                  "name": "%s",
+                  "argument": { "type": "brigadier:literal" },
+                  "executes": "com.oroarmor.json.brigadier.TestCommandPublisher::%s"
+                }
+              ]
+            }
+            """;
+
+    private static CommandPublisher<Object> publisher;
+
+    public static int first(CommandContext<Object> context) {
+        publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class));
+        return 1;
+    }
+
+    public static int second(CommandContext<Object> context) {
+        return 2;
+    }
+
+    @Test
+    public void testReload() throws CommandSyntaxException {
+        publisher = new CommandPublisher<>();
+        CommandDispatcher<Object> first = publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("first", "first"), Object.class));
+        assertEquals(1, publisher.getVersion());
+
+        assertEquals(1, publisher.execute("test first", new Object()), "Command finishes on the version it started with");
+        assertEquals(2, publisher.getVersion());
+        assertNotSame(first, publisher.getDispatcher());
+        assertNull(first.getRoot().getChild("test").getChild("second"), "Published dispatchers are not changed");
+        assertEquals(2, publisher.execute("test second", new Object()));
+        assertThrows(CommandSyntaxException.class, () -> publisher.execute("test first", new Object()));
+    }
+
+    @Test
+    public void testUpdate() throws CommandSyntaxException {
+        publisher = new CommandPublisher<>();
+        publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class));
+
+        CommandDispatcher<Object> overlay = new CommandDispatcher<>();
+        JsonToBrigadier.register(overlay, JSON.formatted("other", "second"), Object.class);
+        publisher.update(dispatcher -> CommandOverlay.overlay(dispatcher, overlay));
+        assertEquals(2, publisher.execute("test other", new Object()));
+        assertEquals(2, publisher.execute("test second", new Object()));
+
+        assertThrows(IllegalArgumentException.class, () -> publisher.update(dispatcher -> dispatcher));
+    }
+
+    @Test
+    public void testConcurrentReloads() throws Exception {
+        publisher = new CommandPublisher<>();
+        publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Integer>> readers = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    int runs = 0;
+                    do {
+                        assertEquals(2, publisher.execute("test second", new Object()));
+                        runs++;
+                    } while (running.get());
+                    return runs;
+                }));
+            }
+
+            for (int i = 0; i < 50; i++) {
+                publisher.reloadAsync(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class), executor).get();
+            }
+            running.set(false);
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get() > 0);
+            }
+            assertEquals(51, publisher.getVersion());
+        } finally {
+            running.set(false);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testReadersDuringReload() throws Exception {
+        publisher = new CommandPublisher<>();
+        publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+        try {
+            Future<CommandDispatcher<Object>> reload = publisher.reloadAsync(dispatcher -> {
+                JsonToBrigadier.register(dispatcher, JSON.formatted("other", "second"), Object.class);
+                loading.countDown();
+                try {
+                    loaded.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }, executor);
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    int total = 0;
+                    for (int run = 0; run < 1000; run++) {
+                        total += publisher.execute("test second", new Object());
+                    }
+                    return total;
+                }));
+            }
+            for (Future<Integer> reader : readers) {
+                assertEquals(2000, reader.get(10, TimeUnit.SECONDS), "Readers finish while a reload is loading");
+            }
+            assertEquals(1, publisher.getVersion());
+
+            loaded.countDown();
+            reload.get(10, TimeUnit.SECONDS);
+            assertEquals(2, publisher.getVersion());
+            assertEquals(2, publisher.execute("test other", new Object()));
+        } finally {
+            loaded.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testReloadsPublishInOrder() throws Exception {
+        publisher = new CommandPublisher<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch loading = new CountDownLatch(1);
+        try {
+            Future<CommandDispatcher<Object>> older = publisher.reloadAsync(dispatcher -> {
+                try {
+                    loading.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                JsonToBrigadier.register(dispatcher, JSON.formatted("first", "first"), Object.class);
+            }, executor);
+            CommandDispatcher<Object> newer = publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class));
+            loading.countDown();
+
+            assertSame(newer, older.get(), "Older reload is dropped");
+            assertSame(newer, publisher.getDispatcher());
+            assertEquals(1, publisher.getVersion());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testUncached() throws CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON.formatted("second", "second"), Object.class);
+        CommandPublisher<Object> uncached = new CommandPublisher<>(dispatcher, 0, source -> source);
+        assertEquals(2, uncached.execute("test second", new Object()));
+        assertEquals(2, uncached.execute("test second", new Object()));
+        assertThrows(IllegalArgumentException.class, () -> new CommandPublisher<>(dispatcher, -1, source -> source));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCompressedInput {
+    @TempDir
+    Path directory;
+
+    private static byte[] getResource(String name) throws URISyntaxException, IOException {
+        return Files.readAllBytes(Paths.get(Objects.requireNonNull(TestCompressedInput.class.getClassLoader().getResource("com/oroarmor/json/brigadier/" + name)).toURI()));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    @Test
+    public void testGzip() throws URISyntaxException, IOException {
+        byte[] json = getResource("complex_command.json");
+        CommandNode<Object> expected = JsonToBrigadier.parse(new String(json), Object.class).build();
+
+        Path file = directory.resolve("complex_command.json.gz");
+        Files.write(file, gzip(json));
+        assertTrue(CommandNodeEquals.equals(expected, JsonToBrigadier.parse(file, Object.class).build()), "Gzip files are decompressed");
+
+        boolean[] closed = {false};
+        InputStream stream = new ByteArrayInputStream(gzip(json)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        assertTrue(CommandNodeEquals.equals(expected, JsonToBrigadier.parse(stream, Object.class).build()), "Gzip streams are decompressed");
+        assertFalse(closed[0], "The stream is not closed");
+
+        assertTrue(CommandNodeEquals.equals(expected, JsonToBrigadier.parse(Channels.newChannel(new ByteArrayInputStream(json)), Object.class).build()), "Plain channels are read");
+    }
+
+    @Test
+    public void testArchive() throws URISyntaxException, IOException {
+        Path archive = directory.resolve("commands.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            zip.putNextEntry(new ZipEntry("data/"));
+            zip.putNextEntry(new ZipEntry("data/redirect_command.json"));
+            zip.write(getResource("redirect_command.json"));
+            zip.putNextEntry(new ZipEntry("data/complex_command.json.gz"));
+            zip.write(gzip(getResource("complex_command.json")));
+            zip.putNextEntry(new ZipEntry("README.txt"));
+            zip.write("Not a command".getBytes());
+        }
+
+        CommandDispatcher<Object> expected = new CommandDispatcher<>();
+        JsonToBrigadier.register(expected, new String(getResource("redirect_command.json")), Object.class);
+        JsonToBrigadier.register(expected, new String(getResource("complex_command.json")), Object.class);
+
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.registerArchive(dispatcher, archive, Object.class);
+        assertTrue(CommandNodeEquals.equals(expected.getRoot(), dispatcher.getRoot()), "Every json entry is registered");
+        assertSame(dispatcher.getRoot().getChild("teleport"), dispatcher.getRoot().getChild("tp").getRedirect());
+    }
+}
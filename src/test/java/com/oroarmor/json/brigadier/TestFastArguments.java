@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.List;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.oroarmor.json.brigadier.arguments.FastDoubleArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastFloatArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastIntegerArgumentType;
+import com.oroarmor.json.brigadier.arguments.FastLongArgumentType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFastArguments {
+    private static final List<String> INPUTS = List.of("0", "1", "-1", "50 ", "007", "100", "101", "-5", "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809", "", "-", "--1", "1.5", "1-", "a", "12a");
+    private static final List<String> DECIMAL_INPUTS = List.of("0", "1.5", "-1.5", ".5", "-.5", "5.", "50.25 ", "100", "100.5", "-5.5", "1e5", "1.2.3", ".", "-.", "-",
+            "--1", "1-", "1-2", "a", "", "3.4028236e38", "1" + "0".repeat(400), "-" + "9".repeat(50));
+
+    private static void assertSameParse(ArgumentType<?> expected, ArgumentType<?> actual) {
+        assertSameParse(expected, actual, INPUTS);
+    }
+
+    private static void assertSameParse(ArgumentType<?> expected, ArgumentType<?> actual, List<String> inputs) {
+        for (String input : inputs) {
+            StringReader expectedReader = new StringReader(input);
+            StringReader actualReader = new StringReader(input);
+            Object expectedResult;
+            try {
+                expectedResult = expected.parse(expectedReader);
+            } catch (CommandSyntaxException e) {
+                CommandSyntaxException actualException = assertThrows(CommandSyntaxException.class, () -> actual.parse(actualReader), "Invalid input " + input);
+                assertEquals(e.getMessage(), actualException.getMessage(), "Same error for " + input);
+                continue;
+            }
+
+            try {
+                assertEquals(expectedResult, actual.parse(actualReader), "Same result for " + input);
+            } catch (CommandSyntaxException e) {
+                fail("Valid input " + input + " failed to parse: " + e.getMessage());
+            }
+            assertEquals(expectedReader.getCursor(), actualReader.getCursor(), "Same cursor for " + input);
+        }
+    }
+
+    @Test
+    public void testMatchesBrigadier() {
+        assertSameParse(IntegerArgumentType.integer(), FastIntegerArgumentType.integer());
+        assertSameParse(IntegerArgumentType.integer(0, 100), FastIntegerArgumentType.integer(0, 100));
+        assertSameParse(LongArgumentType.longArg(), FastLongArgumentType.longArg());
+        assertSameParse(LongArgumentType.longArg(-10, 100), FastLongArgumentType.longArg(-10, 100));
+        assertSameParse(DoubleArgumentType.doubleArg(), FastDoubleArgumentType.doubleArg(), DECIMAL_INPUTS);
+        assertSameParse(DoubleArgumentType.doubleArg(-5, 100), FastDoubleArgumentType.doubleArg(-5, 100), DECIMAL_INPUTS);
+        assertSameParse(FloatArgumentType.floatArg(), FastFloatArgumentType.floatArg(), DECIMAL_INPUTS);
+        assertSameParse(FloatArgumentType.floatArg(-5, 100), FastFloatArgumentType.floatArg(-5, 100), DECIMAL_INPUTS);
+    }
+
+    @Test
+    public void testCachedValues() throws CommandSyntaxException {
+        FastIntegerArgumentType type = FastIntegerArgumentType.integer(0, 1000);
+        assertSame(type.parse(new StringReader("500")), type.parse(new StringReader("500")), "Small ranges do not allocate");
+    }
+
+    @Test
+    public void testQuiet() throws CommandSyntaxException {
+        FastIntegerArgumentType type = FastIntegerArgumentType.integer(0, 100).quiet();
+        assertEquals(50, type.parse(new StringReader("50")));
+
+        StringReader reader = new StringReader("101");
+        CommandSyntaxException first = assertThrows(CommandSyntaxException.class, () -> type.parse(reader));
+        assertEquals(0, reader.getCursor(), "Cursor is reset");
+        assertSame(first, assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader("500"))), "Exceptions are reused");
+        assertEquals(0, first.getStackTrace().length, "No stack trace");
+        assertSame(CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooHigh(), first.getType());
+        assertNotSame(first, assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader("-1"))));
+
+        CommandSyntaxException invalid = assertThrows(CommandSyntaxException.class, () -> FastLongArgumentType.longArg().quiet().parse(new StringReader("1.5")));
+        assertSame(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerInvalidLong(), invalid.getType());
+
+        CommandSyntaxException verbose = assertThrows(CommandSyntaxException.class, () -> type.parseVerbose(new StringReader("101")));
+        CommandSyntaxException expected = assertThrows(CommandSyntaxException.class, () -> IntegerArgumentType.integer(0, 100).parse(new StringReader("101")));
+        assertEquals(expected.getMessage(), verbose.getMessage(), "Verbose parsing has the full error");
+
+        assertEquals(FastIntegerArgumentType.integer(0, 100).quiet().hashCode(), type.hashCode());
+        assertNotEquals(FastIntegerArgumentType.integer(0, 100).hashCode(), type.hashCode(), "Quiet types hash differently");
+        assertNotEquals(FastLongArgumentType.longArg().hashCode(), FastLongArgumentType.longArg().quiet().hashCode(), "Quiet types hash differently");
+    }
+
+    @Test
+    public void testQuietDecimals() throws CommandSyntaxException {
+        FastDoubleArgumentType type = FastDoubleArgumentType.doubleArg(0, 10).quiet();
+        assertEquals(2.5, type.parse(new StringReader("2.5")));
+
+        StringReader reader = new StringReader("1.2.3");
+        CommandSyntaxException invalid = assertThrows(CommandSyntaxException.class, () -> type.parse(reader));
+        assertEquals(0, reader.getCursor(), "Cursor is reset");
+        assertSame(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerInvalidDouble(), invalid.getType());
+        assertSame(invalid, assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader("-"))), "Exceptions are reused");
+        assertEquals(0, invalid.getStackTrace().length, "No stack trace");
+        assertSame(CommandSyntaxException.BUILT_IN_EXCEPTIONS.doubleTooHigh(), assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader("10.5"))).getType());
+
+        FastFloatArgumentType floatType = FastFloatArgumentType.floatArg().quiet();
+        assertEquals(-0.5f, floatType.parse(new StringReader("-.5")));
+        assertSame(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedFloat(), assertThrows(CommandSyntaxException.class, () -> floatType.parse(new StringReader("a"))).getType());
+
+        assertEquals(FastDoubleArgumentType.doubleArg(0, 10).quiet().hashCode(), type.hashCode());
+        assertNotEquals(FastFloatArgumentType.floatArg().hashCode(), floatType.hashCode(), "Quiet types hash differently");
+    }
+
+    @Test
+    public void testQuietBrigadierTypes() {
+        String json = """
+                {
+                  "name": "test",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "int", "argument": { "type": "brigadier:integer", "min": 0, "max": 10, "quiet": true } },
+                    { "name": "long", "argument": { "type": "brigadier:long", "quiet": true } },
+                    { "name": "double", "argument": { "type": "brigadier:double", "min": 0.5, "quiet": true } },
+                    { "name": "float", "argument": { "type": "brigadier:float", "min": -1, "max": 1, "quiet": true } },
+                    { "name": "plain", "argument": { "type": "brigadier:double", "quiet": false } }
+                  ]
+                }
+                """;
+
+        CommandNode<Object> node = JsonToBrigadier.parse(json, Object.class).build();
+        assertEquals(FastIntegerArgumentType.integer(0, 10).quiet(), ((ArgumentCommandNode<Object, ?>) node.getChild("int")).getType());
+        assertEquals(FastLongArgumentType.longArg().quiet(), ((ArgumentCommandNode<Object, ?>) node.getChild("long")).getType());
+        assertEquals(FastDoubleArgumentType.doubleArg(0.5).quiet(), ((ArgumentCommandNode<Object, ?>) node.getChild("double")).getType());
+        assertEquals(FastFloatArgumentType.floatArg(-1, 1).quiet(), ((ArgumentCommandNode<Object, ?>) node.getChild("float")).getType());
+        assertEquals(DoubleArgumentType.doubleArg(), ((ArgumentCommandNode<Object, ?>) node.getChild("plain")).getType(), "Types that are not quiet stay Brigadier's");
+        assertTrue(CommandNodeEquals.equals(node, JsonToBrigadier.parse(BrigadierToJson.parse(node), Object.class).build()), "correct inverse parsing");
+    }
+
+    @Test
+    public void testParseToJson() {
+        String json = """
+                {
+                  "name": "test",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "int", "argument": { "type": "brigadier:integer_fast", "min": 0, "max": 10 } },
+                    { "name": "long", "argument": { "type": "brigadier:long_fast", "min": -5000000000, "quiet": true } },
+                    { "name": "double", "argument": { "type": "brigadier:double_fast", "min": -1.5, "max": 2.5 } },
+                    { "name": "float", "argument": { "type": "brigadier:float_fast", "quiet": true } }
+                  ]
+                }
+                """;
+
+        CommandNode<Object> node = JsonToBrigadier.parse(json, Object.class).build();
+        assertEquals(FastIntegerArgumentType.integer(0, 10), ((ArgumentCommandNode<Object, ?>) node.getChild("int")).getType());
+        assertEquals(FastLongArgumentType.longArg(-5000000000L).quiet(), ((ArgumentCommandNode<Object, ?>) node.getChild("long")).getType());
+        assertEquals(FastDoubleArgumentType.doubleArg(-1.5, 2.5), ((ArgumentCommandNode<Object, ?>) node.getChild("double")).getType());
+        assertEquals(FastFloatArgumentType.floatArg().quiet(), ((ArgumentCommandNode<Object, ?>) node.getChild("float")).getType());
+        assertTrue(CommandNodeEquals.equals(node, JsonToBrigadier.parse(BrigadierToJson.parse(node), Object.class).build()), "correct inverse parsing");
+    }
+}
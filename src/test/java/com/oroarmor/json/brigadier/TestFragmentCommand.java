@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.Test;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFragmentCommand {
+    private static int runs = 0;
+
+    public static int runCommand(CommandContext<Object> o) {
+        runs++;
+        return 1;
+    }
+
+    private static LiteralArgumentBuilder<Object> parseCommand() throws URISyntaxException {
+        return (LiteralArgumentBuilder<Object>) JsonToBrigadier.parse(Paths.get(Objects.requireNonNull(TestFragmentCommand.class.getClassLoader().getResource("com/oroarmor/json/brigadier/fragment_command.json")).toURI()), Object.class);
+    }
+
+    @Test
+    public void testParse() throws URISyntaxException {
+        CommandNode<Object> manualCommandNode = literal("test")
+                .then(literal("move")
+                        .then(argument("x", integer())
+                                .then(argument("y", integer())
+                                        .executes(TestFragmentCommand::runCommand)))
+                        .then(literal("offset")
+                                .then(argument("x", integer())
+                                        .then(argument("y", integer())
+                                                .executes(TestFragmentCommand::runCommand)))))
+                .then(literal("look")
+                        .then(argument("yaw", integer())
+                                .executes(TestFragmentCommand::runCommand)
+                                .then(argument("y", integer())
+                                        .executes(TestFragmentCommand::runCommand))))
+                .build();
+
+        assertTrue(CommandNodeEquals.equals(manualCommandNode, parseCommand().build()), "Parser correctly expands fragments");
+    }
+
+    @Test
+    public void testFragmentsAreShared() throws URISyntaxException {
+        CommandNode<Object> command = parseCommand().build();
+        CommandNode<Object> position = command.getChild("move").getChild("x");
+
+        assertSame(position, command.getChild("move").getChild("offset").getChild("x"), "Fragment is only parsed once");
+        assertSame(position.getChild("y"), command.getChild("look").getChild("yaw").getChild("y"), "Overridden fragment shares its children");
+        assertSame(((ArgumentCommandNode<Object, ?>) position).getType(), ((ArgumentCommandNode<Object, ?>) command.getChild("look").getChild("yaw")).getType(), "Overridden fragment shares its argument type");
+    }
+
+    @Test
+    public void testRunCommand() throws URISyntaxException, CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(parseCommand());
+
+        runs = 0;
+        dispatcher.execute("test move 1 2", new Object());
+        dispatcher.execute("test move offset 1 2", new Object());
+        dispatcher.execute("test look 1", new Object());
+        assertEquals(3, runs, "Commands from fragments ran successfully");
+    }
+}
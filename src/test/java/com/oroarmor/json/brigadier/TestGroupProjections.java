@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGroupProjections {
+    private static final String COMMANDS = """
+            {
+              "name": "root",
+              "argument": { "type": "brigadier:root" },
+              "children": [
+                { "name": "help", "argument": { "type": "brigadier:literal" }, "executes": "com.oroarmor.json.brigadier.TestGroupProjections::run" },
+                {
+                  "name": "ban",
+                  "argument": { "type": "brigadier:literal" },
+                  "requires": "com.oroarmor.json.brigadier.TestGroupProjections::isAdmin",
+                  "children": [
+                    { "name": "player", "argument": { "type": "brigadier:string", "string_type": "word" }, "executes": "com.oroarmor.json.brigadier.TestGroupProjections::run" }
+                  ]
+                },
+                {
+                  "name": "home",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "set", "argument": { "type": "brigadier:literal" }, "executes": "com.oroarmor.json.brigadier.TestGroupProjections::run" },
+                    { "name": "clear", "argument": { "type": "brigadier:literal" }, "requires": "com.oroarmor.json.brigadier.TestGroupProjections::isAdmin", "executes": "com.oroarmor.json.brigadier.TestGroupProjections::run" }
+                  ]
+                },
+                { "name": "alias", "argument": { "type": "brigadier:literal" }, "redirect": "home" }
+              ]
+            }
+            """;
+
+    private static int checks = 0;
+
+    public static int run(CommandContext<String> context) {
+        return 1;
+    }
+
+    public static boolean isAdmin(String source) {
+        checks++;
+        return source.startsWith("admin");
+    }
+
+    private static GroupProjections<String, String> createProjections(CommandDispatcher<String> dispatcher) {
+        return new GroupProjections<>(dispatcher, Map.of("admin", "admin", "player", "player"), source -> source.startsWith("admin") ? "admin" : "player");
+    }
+
+    private static List<String> suggest(GroupProjections<String, String> projections, String input, String source) {
+        return projections.getCompletionSuggestions(input, source).join().getList().stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testProjections() {
+        CommandDispatcher<String> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, COMMANDS, String.class);
+        GroupProjections<String, String> projections = createProjections(dispatcher);
+
+        checks = 0;
+        assertEquals(List.of("alias", "ban", "help", "home"), suggest(projections, "", "admin_steve"));
+        assertEquals(List.of("alias", "help", "home"), suggest(projections, "", "alex"), "Commands the group cannot use are removed");
+        assertEquals(List.of("set"), suggest(projections, "home ", "alex"));
+        assertEquals(List.of("set"), suggest(projections, "alias ", "alex"), "Redirects point to the projected node");
+        assertEquals(List.of("alias -> home", "help", "home set"), List.of(projections.getAllUsage("alex")));
+        assertEquals(4, projections.getSmartUsage("admin_steve").size());
+        assertEquals(0, checks, "Projections do not check requirements");
+
+        CommandNode<String> playerRoot = projections.getProjection("player").getRoot();
+        assertSame(dispatcher.getRoot().getChild("help"), playerRoot.getChild("help"), "Nodes without requirements are shared");
+        assertNotSame(dispatcher.getRoot().getChild("home"), playerRoot.getChild("home"));
+        assertNotSame(dispatcher.getRoot().getChild("ban"), projections.getProjection("admin").getRoot().getChild("ban"), "Nodes with requirements are copied");
+        assertThrows(IllegalArgumentException.class, () -> projections.getProjection("guest"));
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        CommandPublisher<String> publisher = new CommandPublisher<>();
+        publisher.reload(dispatcher -> JsonToBrigadier.register(dispatcher, COMMANDS, String.class));
+        GroupProjections<String, String> projections = createProjections(publisher.getDispatcher());
+        CommandDispatcher<String> playerProjection = projections.getProjection("player");
+        CommandNode<String> ban = projections.getProjection("admin").getRoot().getChild("ban");
+
+        checks = 0;
+        projections.update(publisher.getDispatcher());
+        assertSame(playerProjection, projections.getProjection("player"), "Unchanged commands are not projected again");
+        assertEquals(0, checks);
+
+        CommandDispatcher<String> extra = new CommandDispatcher<>();
+        JsonToBrigadier.register(extra, """
+                {
+                  "name": "home",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "reset", "argument": { "type": "brigadier:literal" }, "requires": "com.oroarmor.json.brigadier.TestGroupProjections::isAdmin", "executes": "com.oroarmor.json.brigadier.TestGroupProjections::run" }
+                  ]
+                }
+                """, String.class);
+        publisher.update(dispatcher -> CommandOverlay.overlay(dispatcher, extra));
+        projections.update(publisher.getDispatcher());
+
+        assertEquals(2, checks, "Only the new node is checked, once per group");
+        assertSame(ban, projections.getProjection("admin").getRoot().getChild("ban"), "Copies of unchanged nodes are reused");
+        assertEquals(List.of("clear", "reset", "set"), suggest(projections, "home ", "admin_steve"));
+        assertEquals(List.of("set"), suggest(projections, "alias ", "alex"));
+    }
+}
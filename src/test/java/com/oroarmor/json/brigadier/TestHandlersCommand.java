@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHandlersCommand {
+    private static final String JSON = """
+            {
+              "name": "test",
+              "argument": { "type": "brigadier:literal" },
+              "handlers": [ %s ],
+              "requires": "requires",
+              "children": [
+                {
+                  "name": "value",
+                  "argument": { "type": "brigadier:integer" },
+                  "executes": "runCommand"
+                },
+                {
+                  "name": "other",
+                  "argument": { "type": "brigadier:literal" },
+                  "executes": "com.oroarmor.json.brigadier.TestSimpleCommand::runCommand"
+                }
+              ]
+            }
+            """;
+
+    private static boolean runSuccessful = false;
+
+    public static int runCommand(CommandContext<Object> o) {
+        runSuccessful = true;
+        return 2;
+    }
+
+    public static boolean requires(Object o) {
+        return o != null;
+    }
+
+    public static final class OtherSignatures {
+        public static String runCommand(CommandContext<Object> o) {
+            return "";
+        }
+
+        public static void requires(Object o) {
+        }
+    }
+
+    @Test
+    public void testRunCommand() throws CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register((LiteralArgumentBuilder<Object>) JsonToBrigadier.parse(JSON.formatted("\"com.oroarmor.json.brigadier.TestHandlersCommand\""), Object.class));
+
+        runSuccessful = false;
+        assertEquals(2, dispatcher.execute("test 1", new Object()), "Handler method ran");
+        assertTrue(runSuccessful, "Json command ran successfully");
+        assertEquals(1, dispatcher.execute("test other", new Object()), "Full method names still work with handlers");
+        assertTrue(dispatcher.getRoot().getChild("test").canUse(new Object()), "Handler requirement is found");
+    }
+
+    @Test
+    public void testAmbiguousHandler() throws CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register((LiteralArgumentBuilder<Object>) JsonToBrigadier.parse(JSON.formatted("\"com.oroarmor.json.brigadier.TestHandlersCommand\", \"com.oroarmor.json.brigadier.TestSimpleCommand\""), Object.class));
+
+        runSuccessful = false;
+        assertEquals(0, dispatcher.execute("test 1", new Object()), "Ambiguous handler is not bound");
+        assertFalse(runSuccessful, "Ambiguous handler did not run");
+    }
+
+    @Test
+    public void testOtherSignaturesAreNotHandlers() throws CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register((LiteralArgumentBuilder<Object>) JsonToBrigadier.parse(JSON.formatted("\"com.oroarmor.json.brigadier.TestHandlersCommand\", \"com.oroarmor.json.brigadier.TestHandlersCommand$OtherSignatures\""), Object.class));
+
+        runSuccessful = false;
+        assertEquals(2, dispatcher.execute("test 1", new Object()), "Method with another return type is not a handler");
+        assertTrue(runSuccessful, "Handler method ran");
+        assertTrue(dispatcher.getRoot().getChild("test").canUse(new Object()), "Method with another return type is not a requirement");
+    }
+
+    @Test
+    public void testParseToJson() {
+        JsonObject json = BrigadierToJson.parseObject(JsonToBrigadier.parse(JSON.formatted("\"com.oroarmor.json.brigadier.TestHandlersCommand\""), Object.class).build());
+
+        assertEquals("com.oroarmor.json.brigadier.TestHandlersCommand::requires", json.get(StringConstants.REQUIRES).getAsString(), "Requirement is written with its class");
+        assertEquals("com.oroarmor.json.brigadier.TestHandlersCommand::runCommand", json.get(StringConstants.CHILDREN).getAsJsonArray().get(1).getAsJsonObject().get(StringConstants.EXECUTES).getAsString(), "Handler is written with its class");
+    }
+}
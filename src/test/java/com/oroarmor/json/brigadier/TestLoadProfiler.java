@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.mojang.brigadier.CommandDispatcher;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLoadProfiler {
+    @AfterEach
+    public void reset() {
+        LoadProfiler.disable();
+        LoadProfiler.reset();
+    }
+
+    @Test
+    public void testTimings() throws URISyntaxException {
+        Path path = Paths.get(Objects.requireNonNull(TestLoadProfiler.class.getClassLoader().getResource("com/oroarmor/json/brigadier/redirect_command.json")).toURI());
+        JsonToBrigadier.register(new CommandDispatcher<>(), path, Object.class);
+        assertTrue(LoadProfiler.getTimings().isEmpty(), "Nothing is recorded until enabled");
+
+        LoadProfiler.enable();
+        JsonToBrigadier.register(new CommandDispatcher<>(), path, Object.class);
+        Map<LoadProfiler.Phase, Long> phases = LoadProfiler.getTimings().get(path.toString());
+        assertNotNull(phases, "Timings are recorded per file");
+        assertTrue(phases.get(LoadProfiler.Phase.READ) > 0);
+        assertTrue(phases.get(LoadProfiler.Phase.JSON_PARSE) > 0);
+        assertTrue(phases.get(LoadProfiler.Phase.NODE_CONSTRUCTION) > 0);
+        assertTrue(phases.get(LoadProfiler.Phase.METHOD_LOOKUP) > 0);
+        assertTrue(LoadProfiler.summary().contains("method_lookup"));
+
+        JsonToBrigadier.parse("{ \"name\": \"test\", \"argument\": { \"type\": \"brigadier:literal\" } }", Object.class);
+        assertTrue(LoadProfiler.getTimings().containsKey("<string>"));
+    }
+
+    @Test
+    public void testJfrEvents() throws IOException {
+        Path file = Files.createTempFile("load", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.oroarmor.json.brigadier.LoadPhase").withoutThreshold();
+            recording.start();
+            JsonToBrigadier.parse("{ \"name\": \"test\", \"argument\": { \"type\": \"brigadier:literal\" } }", Object.class);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(event -> "json_parse".equals(event.getString("phase")) && "<string>".equals(event.getString("source"))), "Events are emitted without enabling the profiler");
+            assertTrue(LoadProfiler.getTimings().isEmpty());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.Map;
+
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.CommandDispatcher;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMemoryReport {
+    private static final String JSON = """
+            {
+              "name": "__root__",
+              "argument": { "type": "brigadier:root" },
+              "children": [
+                {
+                  "name": "a",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "x", "argument": { "type": "brigadier:integer", "min": 0, "max": 10 } },
+                    { "name": "y", "argument": { "type": "brigadier:integer", "min": 0, "max": 10 } }
+                  ]
+                },
+                { "name": "b", "argument": { "type": "brigadier:literal" }, "redirect": "a" },
+                {
+                  "name": "c",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "x", "argument": { "type": "brigadier:integer" } },
+                    { "name": "root", "argument": { "type": "brigadier:literal" }, "redirect": "__root__" }
+                  ]
+                }
+              ]
+            }
+            """;
+
+    @Test
+    public void testReport() {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON, Object.class);
+        MemoryReport report = MemoryReport.of(dispatcher);
+
+        assertEquals(8, report.getNodes());
+        assertEquals(Map.of("brigadier:root", 1, "brigadier:literal", 4, "brigadier:integer", 3), report.getNodesByType());
+        assertEquals(3, report.getArgumentTypes());
+        assertEquals(2, report.getDistinctArgumentTypes(), "Equal argument types are found");
+        assertEquals(1, report.getDuplicateStrings(), "The two x names are duplicates");
+
+        assertEquals(0, report.getRetainedBytes().get("a"), "Redirected command is shared");
+        assertTrue(report.getRetainedBytes().get("b") > 0);
+        assertTrue(report.getRetainedBytes().get("c") > report.getRetainedBytes().get("b"), "Redirect to the root is not retained");
+        long retained = report.getRetainedBytes().values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(report.getSharedBytes() > 0);
+        assertTrue(report.getEstimatedBytes() > report.getSharedBytes() + retained, "The root is only counted in the total");
+    }
+
+    @Test
+    public void testToJson() {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON, Object.class);
+        MemoryReport report = MemoryReport.of(dispatcher);
+        JsonObject json = report.toJson();
+        assertEquals(report.getNodes(), json.get("nodes").getAsInt());
+        assertEquals(report.getEstimatedBytes(), json.get("estimated_bytes").getAsLong());
+        assertEquals(3, json.getAsJsonObject("retained_bytes").size());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestParseCache {
+    private static final String JSON = """
+            {
+              "name": "%s",
+              "argument": { "type": "brigadier:literal" },
+              "requires": "com.oroarmor.json.brigadier.TestParseCache::requires",
+              "executes": "com.oroarmor.json.brigadier.TestParseCache::run"
+            }
+            """;
+
+    public static int run(CommandContext<Integer> context) {
+        return context.getSource();
+    }
+
+    public static boolean requires(Integer level) {
+        return level > 0;
+    }
+
+    public static boolean admin(Integer level) {
+        return level > 1;
+    }
+
+    public static int amount(CommandContext<Integer> context) {
+        return 100;
+    }
+
+    public static int item(CommandContext<Integer> context) {
+        return 1;
+    }
+
+    @Test
+    public void testCachedParse() throws CommandSyntaxException {
+        CommandDispatcher<Integer> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON.formatted("test"), Integer.class);
+        ParseCache<Integer> cache = new ParseCache<>(dispatcher, 16, level -> level > 1);
+
+        assertEquals(1, cache.execute("test", 1));
+        assertEquals(1, cache.execute("test", 1));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.execute("test", 3));
+        assertEquals(1, cache.getHits(), "Sources with a different fingerprint do not share parses");
+        assertEquals(4, cache.execute("test", 4), "Cached parse executes with the new source");
+        assertEquals(2, cache.getHits());
+
+        assertThrows(CommandSyntaxException.class, () -> cache.execute("test extra", 1));
+        assertThrows(CommandSyntaxException.class, () -> cache.execute("test extra", 1));
+        assertEquals(2, cache.getHits(), "Failed parses are not cached");
+    }
+
+    @Test
+    public void testRequirementsRechecked() {
+        CommandDispatcher<Integer> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON.formatted("test"), Integer.class);
+        // Requirements are rechecked even when the fingerprint does not capture them
+        ParseCache<Integer> cache = new ParseCache<>(dispatcher, level -> true);
+
+        assertDoesNotThrow(() -> cache.execute("test", 1));
+        assertThrows(CommandSyntaxException.class, () -> cache.execute("test", 0), "Cached parse is not used by a source without permission");
+    }
+
+    @Test
+    public void testPrivilegedBranch() throws CommandSyntaxException {
+        CommandDispatcher<Integer> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, """
+                {
+                  "name": "give",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    {
+                      "name": "amount",
+                      "argument": { "type": "brigadier:integer" },
+                      "requires": "com.oroarmor.json.brigadier.TestParseCache::admin",
+                      "executes": "com.oroarmor.json.brigadier.TestParseCache::amount"
+                    },
+                    {
+                      "name": "item",
+                      "argument": { "type": "brigadier:string", "string_type": "word" },
+                      "executes": "com.oroarmor.json.brigadier.TestParseCache::item"
+                    }
+                  ]
+                }
+                """, Integer.class);
+        ParseCache<Integer> cache = new ParseCache<>(dispatcher, level -> level > 1);
+
+        assertEquals(1, cache.execute("give 5", 1));
+        assertEquals(1, cache.execute("give 5", 1));
+        assertEquals(1, cache.getHits());
+        assertEquals(100, cache.execute("give 5", 2), "Privileged source takes its own branch");
+        assertEquals(100, cache.execute("give 5", 2));
+        assertEquals(1, cache.execute("give 5", 1));
+        assertEquals(3, cache.getHits());
+    }
+
+    @Test
+    public void testRedirectedParse() throws CommandSyntaxException {
+        CommandDispatcher<Integer> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON.formatted("test"), Integer.class);
+        dispatcher.register(LiteralArgumentBuilder.<Integer>literal("run").redirect(dispatcher.getRoot()));
+        ParseCache<Integer> cache = new ParseCache<>(dispatcher, level -> true);
+
+        assertEquals(1, cache.execute("run test", 1));
+        assertEquals(1, cache.execute("run test", 1));
+        assertEquals(1, cache.getHits(), "Redirected parses are cached");
+
+        assertThrows(CommandSyntaxException.class, () -> cache.execute("run test", 0), "Nodes after a redirect are checked for the source");
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testInvalidatedOnRegister() throws CommandSyntaxException {
+        CommandDispatcher<Integer> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, JSON.formatted("test"), Integer.class);
+        ParseCache<Integer> cache = new ParseCache<>(dispatcher, level -> level > 0);
+
+        cache.execute("test", 1);
+        cache.execute("test", 1);
+        assertEquals(1, cache.getHits());
+
+        JsonToBrigadier.register(dispatcher, JSON.formatted("other"), Integer.class);
+        cache.execute("test", 1);
+        assertEquals(1, cache.getHits(), "Registering commands clears the cache");
+
+        cache.invalidate();
+        cache.execute("test", 1);
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+}
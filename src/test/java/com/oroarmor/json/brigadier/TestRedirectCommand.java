@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRedirectCommand {
+    private static int runs = 0;
+
+    public static int teleport(CommandContext<Object> o) {
+        runs++;
+        return 1;
+    }
+
+    private static Path getCommandPath() throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(TestRedirectCommand.class.getClassLoader().getResource("com/oroarmor/json/brigadier/redirect_command.json")).toURI());
+    }
+
+    @Test
+    public void testRedirectSharesNode() throws URISyntaxException, CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, getCommandPath(), Object.class);
+
+        CommandNode<Object> root = dispatcher.getRoot();
+        assertSame(root.getChild("teleport"), root.getChild("tp").getRedirect(), "Alias redirects to the shared node");
+        assertSame(root, root.getChild("execute").getChild("run").getRedirect(), "Redirect to the dispatcher root");
+        assertSame(root.getChild("execute"), root.getChild("execute").getChild("as").getRedirect(), "Redirect to a parent node");
+        assertTrue(root.getChild("execute").getChild("as").isFork(), "Fork is parsed");
+
+        runs = 0;
+        dispatcher.execute("teleport 1", new Object());
+        dispatcher.execute("tp 1", new Object());
+        dispatcher.execute("execute as as run tp 1", new Object());
+        assertEquals(3, runs, "Redirected commands ran successfully");
+    }
+
+    @Test
+    public void testRedirectToSelf() throws CommandSyntaxException {
+        String json = """
+                {
+                  "name": "loop",
+                  "id": "top",
+                  "argument": { "type": "brigadier:literal" },
+                  "children": [
+                    { "name": "again", "argument": { "type": "brigadier:literal" }, "redirect": "loop" },
+                    { "name": "value", "argument": { "type": "brigadier:integer" }, "executes": "com.oroarmor.json.brigadier.TestRedirectCommand::teleport" },
+                    { "name": "alias", "argument": { "type": "brigadier:literal" }, "redirect": "top" }
+                  ]
+                }
+                """;
+
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, json, Object.class);
+
+        runs = 0;
+        dispatcher.execute("loop again alias again 1", new Object());
+        assertEquals(1, runs, "Command redirecting to the top level command ran successfully");
+    }
+
+    @Test
+    public void testParseToJson() throws URISyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, getCommandPath(), Object.class);
+
+        JsonObject json = BrigadierToJson.parseObject(dispatcher);
+        CommandDispatcher<Object> parsedDispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(parsedDispatcher, json.toString(), Object.class);
+
+        CommandNode<Object> root = parsedDispatcher.getRoot();
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot().getChild("teleport"), root.getChild("teleport")), "correct inverse parsing");
+        assertSame(root.getChild("teleport"), root.getChild("tp").getRedirect(), "Redirect is written as a reference");
+        assertSame(root, root.getChild("execute").getChild("run").getRedirect(), "Redirect cycle is written as a reference");
+    }
+
+    @Test
+    public void testParseSingleCommandToJson() throws URISyntaxException, CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, getCommandPath(), Object.class);
+
+        JsonObject execute = BrigadierToJson.parseObject(dispatcher.getRoot().getChild("execute"));
+        assertEquals(StringConstants.ROOT, execute.getAsJsonArray(StringConstants.CHILDREN).get(1).getAsJsonObject().get(StringConstants.REDIRECT).getAsString(), "Redirect to the root is written as __root__");
+        assertThrows(IllegalArgumentException.class, () -> BrigadierToJson.parseObject(dispatcher.getRoot().getChild("tp")), "Redirect outside of the command cannot be exported");
+
+        CommandDispatcher<Object> parsedDispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(parsedDispatcher, execute.toString(), Object.class);
+        CommandNode<Object> root = parsedDispatcher.getRoot();
+        assertSame(root, root.getChild("execute").getChild("run").getRedirect(), "__root__ redirects to the dispatcher the command is registered to");
+        assertThrows(IllegalArgumentException.class, () -> JsonToBrigadier.parse(execute.toString(), Object.class), "__root__ needs a dispatcher");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRequirementCache {
+    private static final String JSON = """
+            {
+              "name": "test",
+              "argument": { "type": "brigadier:literal" },
+              "requires": "com.oroarmor.json.brigadier.TestRequirementCache::requires",
+              "cache_requires": %s
+            }
+            """;
+
+    private static int checks = 0;
+
+    public static boolean requires(Object o) {
+        checks++;
+        return o != null;
+    }
+
+    @AfterEach
+    public void invalidate() {
+        RequirementCache.invalidateAll();
+    }
+
+    @Test
+    public void testCachedRequirement() {
+        CommandNode<Object> node = JsonToBrigadier.parse(JSON.formatted("true"), Object.class).build();
+        Object source = new Object();
+
+        checks = 0;
+        assertTrue(node.canUse(source));
+        assertTrue(node.canUse(source));
+        assertEquals(1, checks, "Requirement is only checked once per source");
+
+        assertTrue(node.canUse(new Object()));
+        assertEquals(2, checks, "Requirement is checked for a new source");
+
+        RequirementCache.invalidate(source);
+        assertTrue(node.canUse(source));
+        assertEquals(3, checks, "Requirement is checked again after invalidation");
+    }
+
+    @Test
+    public void testSourceKey() {
+        CommandNode<Object> node = JsonToBrigadier.parse(JSON.formatted("true"), Object.class).build();
+        RequirementCache.setSourceKey(source -> source.toString().length());
+        try {
+            checks = 0;
+            assertTrue(node.canUse("a"));
+            assertTrue(node.canUse(new String("b")));
+            assertEquals(1, checks, "Sources with the same key share results");
+
+            RequirementCache.invalidate("c");
+            assertTrue(node.canUse("a"));
+            assertEquals(2, checks, "Sources are invalidated by their key");
+        } finally {
+            RequirementCache.setSourceKey(null);
+        }
+    }
+
+    @Test
+    public void testUncachedRequirement() {
+        CommandNode<Object> node = JsonToBrigadier.parse(JSON.formatted("false"), Object.class).build();
+        Object source = new Object();
+
+        checks = 0;
+        node.canUse(source);
+        node.canUse(source);
+        assertEquals(2, checks, "Requirement is checked every time");
+    }
+
+    @Test
+    public void testParseToJson() {
+        CommandNode<Object> node = JsonToBrigadier.parse(JSON.formatted("true"), Object.class).build();
+        assertTrue(BrigadierToJson.parseObject(node).get(StringConstants.CACHE_REQUIRES).getAsBoolean(), "Cached requirement is written");
+    }
+}
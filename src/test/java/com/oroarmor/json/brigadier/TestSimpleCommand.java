@@ -29,6 +29,7 @@ import java.nio.file.Paths;
 import java.util.Objects;
 
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
@@ -104,4 +105,27 @@ public class TestSimpleCommand {
         String json = new GsonBuilder().setPrettyPrinting().create().toJson(BrigadierToJson.parseObject(manualCommandNode));
         assertTrue(CommandNodeEquals.equals(manualCommandNode, JsonToBrigadier.parse(json, Object.class).build()), "correct inverse parsing");
     }
+
+    @Test
+    public void testDocumentReader() throws URISyntaxException {
+        JsonToBrigadier.DocumentReader original = JsonToBrigadier.getDocumentReader();
+        int[] reads = {0};
+        JsonToBrigadier.setDocumentReader(reader -> {
+            reads[0]++;
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        });
+
+        try {
+            CommandNode<Object> manualCommandNode = literal("test")
+                    .then(argument("value", integer(0, 1))
+                            .executes(TestSimpleCommand::runCommand))
+                    .build();
+
+            CommandNode<Object> jsonCommandNode = JsonToBrigadier.parse(Paths.get(Objects.requireNonNull(TestSimpleCommand.class.getClassLoader().getResource("com/oroarmor/json/brigadier/test_command.json")).toURI()), Object.class).build();
+            assertTrue(CommandNodeEquals.equals(manualCommandNode, jsonCommandNode), "Parser correctly parses command with a custom reader");
+            Assertions.assertEquals(1, reads[0], "Custom reader was used");
+        } finally {
+            JsonToBrigadier.setDocumentReader(original);
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSnapshotCache {
+    @TempDir
+    Path directory;
+
+    private List<Path> copyFiles() throws URISyntaxException, IOException {
+        Path redirect = directory.resolve("redirect_command.json");
+        Path complex = directory.resolve("complex_command.json");
+        Files.copy(getResource("redirect_command.json"), redirect);
+        Files.copy(getResource("complex_command.json"), complex);
+        return List.of(redirect, complex);
+    }
+
+    private static Path getResource(String name) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(TestSnapshotCache.class.getClassLoader().getResource("com/oroarmor/json/brigadier/" + name)).toURI());
+    }
+
+    @Test
+    public void testRestore() throws URISyntaxException, IOException, CommandSyntaxException {
+        List<Path> files = copyFiles();
+        Path snapshot = directory.resolve("commands.snapshot");
+
+        CommandDispatcher<Object> loaded = new CommandDispatcher<>();
+        assertFalse(SnapshotCache.register(loaded, files, Object.class, snapshot), "First load uses the files");
+        assertTrue(Files.exists(snapshot));
+
+        CommandDispatcher<Object> restored = new CommandDispatcher<>();
+        assertTrue(SnapshotCache.register(restored, files, Object.class, snapshot), "Second load uses the snapshot");
+        assertTrue(CommandNodeEquals.equals(loaded.getRoot(), restored.getRoot()), "Snapshot has the same commands");
+
+        CommandNode<Object> root = restored.getRoot();
+        assertSame(root.getChild("teleport"), root.getChild("tp").getRedirect(), "Redirects are still shared");
+        assertSame(root, root.getChild("execute").getChild("run").getRedirect());
+        assertTrue(root.getChild("execute").getChild("as").isFork());
+        assertEquals(loaded.getRoot().getChild("test").getRequirement().toString(), root.getChild("test").getRequirement().toString(), "Handlers are bound to the same methods");
+        assertEquals(1, restored.execute("execute as as run tp 1", new Object()));
+    }
+
+    @Test
+    public void testChangedFiles() throws URISyntaxException, IOException {
+        List<Path> files = copyFiles();
+        Path snapshot = directory.resolve("commands.snapshot");
+        SnapshotCache.register(new CommandDispatcher<>(), files, Object.class, snapshot);
+
+        Files.writeString(files.get(0), Files.readString(files.get(0)).replace("\"tp\"", "\"t\""));
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        assertFalse(SnapshotCache.register(dispatcher, files, Object.class, snapshot), "Changed files are loaded again");
+        assertNotNull(dispatcher.getRoot().getChild("t"));
+        assertTrue(SnapshotCache.register(new CommandDispatcher<>(), files, Object.class, snapshot), "Snapshot is saved again");
+    }
+
+    @Test
+    public void testBrokenSnapshot() throws URISyntaxException, IOException {
+        List<Path> files = copyFiles();
+        Path snapshot = directory.resolve("commands.snapshot");
+        SnapshotCache.register(new CommandDispatcher<>(), files, Object.class, snapshot);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 10));
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        assertFalse(SnapshotCache.register(dispatcher, files, Object.class, snapshot), "Broken snapshot is ignored");
+        assertEquals(4, dispatcher.getRoot().getChildren().size(), "Broken snapshot does not add commands");
+    }
+
+    @Test
+    public void testUnsupportedCommands() throws URISyntaxException, IOException {
+        List<Path> files = copyFiles();
+        Path snapshot = directory.resolve("commands.snapshot");
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("lambda").executes(context -> 1));
+
+        SnapshotCache.register(dispatcher, files, Object.class, snapshot);
+        assertFalse(Files.exists(snapshot), "Lambdas cannot be saved");
+    }
+}
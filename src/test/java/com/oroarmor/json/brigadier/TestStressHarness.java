@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.util.Map;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestStressHarness {
+    private static CommandDispatcher<Object> load(CommandTreeGenerator generator) {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, generator.generate().toString(), Object.class);
+        return dispatcher;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        for (long seed = 0; seed < 20; seed++) {
+            CommandTreeGenerator generator = new CommandTreeGenerator(seed, 300, 5, 6, CommandTreeGenerator.DEFAULT_WEIGHTS);
+            CommandDispatcher<Object> dispatcher = load(generator);
+            assertTrue(StressHarness.roundTrips(dispatcher, generator.getInputs()), "Generated tree " + seed + " is the same after converting to json and back");
+        }
+    }
+
+    @Test
+    public void testGeneratedInputs() throws CommandSyntaxException {
+        CommandTreeGenerator generator = new CommandTreeGenerator(1, 500, 6, 4, CommandTreeGenerator.DEFAULT_WEIGHTS);
+        CommandDispatcher<Object> dispatcher = load(generator);
+        assertFalse(generator.getInputs().isEmpty());
+        assertTrue(generator.getInputs().size() <= 500, "Tree is not larger than the maximum size");
+        for (String input : generator.getInputs()) {
+            assertEquals(1, dispatcher.execute(input, null), input);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CommandTreeGenerator(0, 10, 2, 2, Map.of("unknown:type", 1)));
+    }
+
+    @Test
+    public void testLoad() throws InterruptedException {
+        CommandTreeGenerator generator = new CommandTreeGenerator(2, 500, 6, 4, CommandTreeGenerator.DEFAULT_WEIGHTS);
+        StressHarness.Report report = StressHarness.run(load(generator), generator.getInputs(), 2, 2000, 0.25, 2);
+
+        assertEquals(4000, report.getOperations());
+        assertEquals(0, report.getFailures(), "Generated inputs always parse");
+        assertTrue(report.getSuggestions() > 0);
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getLatency(50) <= report.getLatency(99));
+        assertTrue(report.getLatency(99) <= report.getLatency(100));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import org.junit.jupiter.api.Test;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSuggestionEngine {
+    private static List<String> texts(Suggestions suggestions) {
+        return suggestions.getList().stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+
+    private static Path getResource(String name) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(TestSuggestionEngine.class.getClassLoader().getResource("com/oroarmor/json/brigadier/" + name)).toURI());
+    }
+
+    private static CommandDispatcher<Object> createSlowDispatcher(CompletableFuture<Suggestions> blocker) {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("pick")
+                .then(argument("fast", StringArgumentType.word()).suggests((context, builder) -> builder.suggest("apple").buildFuture()))
+                .then(argument("slow", StringArgumentType.word()).suggests((context, builder) -> blocker)));
+        dispatcher.register(literal("fast").then(literal("one")).then(literal("two")));
+        return dispatcher;
+    }
+
+    @Test
+    public void testSameSuggestions() throws Exception {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, getResource("redirect_command.json"), Object.class);
+        JsonToBrigadier.register(dispatcher, getResource("complex_command.json"), Object.class);
+        SuggestionEngine<Object> engine = new SuggestionEngine<>(1, 8, 5, TimeUnit.SECONDS);
+
+        for (String input : List.of("", "t", "execute ", "execute as as run ", "test ")) {
+            Suggestions expected = dispatcher.getCompletionSuggestions(dispatcher.parse(input, new Object())).get();
+            assertEquals(expected, engine.getCompletionSuggestions(dispatcher, input, new Object()).get(1, TimeUnit.SECONDS), "Suggestions for '" + input + "'");
+        }
+        engine.shutdown();
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        CompletableFuture<Suggestions> blocker = new CompletableFuture<>();
+        SuggestionEngine<Object> engine = new SuggestionEngine<>(1, 8, 100, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        Suggestions suggestions = engine.getCompletionSuggestions(createSlowDispatcher(blocker), "pick ", new Object()).get(5, TimeUnit.SECONDS);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "Request completes at its deadline");
+        assertEquals(List.of("apple"), texts(suggestions), "Finished nodes are returned");
+        assertEquals(1, engine.getExpired());
+        engine.shutdown();
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        CompletableFuture<Suggestions> blocker = new CompletableFuture<>();
+        CommandDispatcher<Object> dispatcher = createSlowDispatcher(blocker);
+        SuggestionEngine<Object> engine = new SuggestionEngine<>(1, 8, 10, TimeUnit.SECONDS);
+
+        CompletableFuture<Suggestions> first = engine.getCompletionSuggestions(dispatcher, "client", "pick ", new Object());
+        Thread.sleep(50);
+        CompletableFuture<Suggestions> second = engine.getCompletionSuggestions(dispatcher, "client", "fast ", new Object());
+        assertTrue(first.isCancelled(), "Newer keystroke cancels the request");
+        assertEquals(List.of("one", "two"), texts(second.get(2, TimeUnit.SECONDS)), "Cancelled request frees the thread");
+        assertEquals(1, engine.getCancelled());
+
+        CompletableFuture<Suggestions> other = engine.getCompletionSuggestions(dispatcher, "other", "fast ", new Object());
+        assertFalse(second.isCancelled(), "Other clients do not cancel the request");
+        assertEquals(List.of("one", "two"), texts(other.get(2, TimeUnit.SECONDS)));
+        engine.shutdown();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.json.brigadier;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import org.junit.jupiter.api.Test;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTreeCodec {
+    private static Path getResource(String name) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(TestTreeCodec.class.getClassLoader().getResource("com/oroarmor/json/brigadier/" + name)).toURI());
+    }
+
+    private static CommandDispatcher<Object> load() throws URISyntaxException {
+        CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        JsonToBrigadier.register(dispatcher, getResource("complex_command.json"), Object.class);
+        JsonToBrigadier.register(dispatcher, getResource("redirect_command.json"), Object.class);
+        return dispatcher;
+    }
+
+    @Test
+    public void testFullTree() throws URISyntaxException, IOException, CommandSyntaxException {
+        CommandDispatcher<Object> dispatcher = load();
+        byte[] encoded = new TreeCodec.Encoder<Object>().encode(dispatcher.getRoot(), null);
+        RootCommandNode<Object> root = new TreeCodec.Decoder<Object>(context -> 7).decode(encoded);
+
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), root), "Decoded tree has the same commands");
+        assertSame(root.getChild("teleport"), root.getChild("tp").getRedirect(), "Redirects are still shared");
+        assertSame(root, root.getChild("execute").getChild("run").getRedirect());
+        assertTrue(root.getChild("execute").getChild("as").isFork());
+        assertEquals(7, new CommandDispatcher<>(root).execute("tp 1", new Object()), "Placeholder command runs");
+
+        int jsonLength = BrigadierToJson.parse(dispatcher).getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(encoded.length * 4 < jsonLength, "Encoded tree is smaller than the json");
+    }
+
+    @Test
+    public void testDelta() throws URISyntaxException, IOException {
+        CommandDispatcher<Object> dispatcher = load();
+        TreeCodec.Encoder<Object> encoder = new TreeCodec.Encoder<>();
+        TreeCodec.Decoder<Object> decoder = new TreeCodec.Decoder<>();
+        byte[] full = encoder.encode(dispatcher.getRoot(), null);
+        decoder.decode(full);
+
+        byte[] unchanged = encoder.encode(dispatcher.getRoot(), null);
+        assertTrue(unchanged.length < 8, "Unchanged tree sends almost nothing");
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), decoder.decode(unchanged)));
+
+        dispatcher.register(literal("added").then(argument("count", IntegerArgumentType.integer(0, 1)).executes(context -> 1)));
+        byte[] delta = encoder.encode(dispatcher.getRoot(), null);
+        assertTrue(delta.length * 4 < full.length, "Delta only has the added nodes");
+        RootCommandNode<Object> root = decoder.decode(delta);
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), root), "Delta applies to the last tree");
+        assertEquals(IntegerArgumentType.integer(0, 1), ((ArgumentCommandNode<?, ?>) root.getChild("added").getChild("count")).getType());
+
+        encoder.reset();
+        byte[] reset = encoder.encode(dispatcher.getRoot(), null);
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), new TreeCodec.Decoder<>().decode(reset)), "Reset sends the full tree");
+    }
+
+    @Test
+    public void testPermissionChange() throws IOException {
+        CommandDispatcher<String> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(LiteralArgumentBuilder.<String>literal("help").executes(context -> 1));
+        dispatcher.register(LiteralArgumentBuilder.<String>literal("ban").requires("admin"::equals).then(RequiredArgumentBuilder.<String, String>argument("player", StringArgumentType.word()).executes(context -> 1)));
+
+        TreeCodec.Encoder<String> encoder = new TreeCodec.Encoder<>();
+        TreeCodec.Decoder<String> decoder = new TreeCodec.Decoder<>();
+        CommandNode<String> root = decoder.decode(encoder.encode(dispatcher.getRoot(), "player"));
+        assertNotNull(root.getChild("help"));
+        assertNull(root.getChild("ban"), "Commands the source cannot use are not sent");
+
+        root = decoder.decode(encoder.encode(dispatcher.getRoot(), "admin"));
+        assertNotNull(root.getChild("ban").getChild("player"), "Promoted source gets the new commands");
+
+        root = decoder.decode(encoder.encode(dispatcher.getRoot(), "player"));
+        assertNull(root.getChild("ban"), "Demoted source loses the commands");
+        assertNotNull(root.getChild("help"));
+    }
+
+    @Test
+    public void testBrokenInput() throws URISyntaxException, IOException {
+        CommandDispatcher<Object> dispatcher = load();
+        byte[] encoded = new TreeCodec.Encoder<Object>().encode(dispatcher.getRoot(), null);
+        assertThrows(IOException.class, () -> new TreeCodec.Decoder<>().decode(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(IOException.class, () -> new TreeCodec.Decoder<>().decode(new byte[]{1, 0, 0, 0, 0, 0}), "Delta without a tree has no root");
+        assertThrows(IOException.class, () -> new TreeCodec.Decoder<>().decode(new byte[]{0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}), "Counts larger than the input are rejected");
+        assertThrows(IOException.class, () -> new TreeCodec.Decoder<>().decode(new byte[]{0, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}), "Negative lengths are rejected");
+
+        TreeCodec.Decoder<Object> decoder = new TreeCodec.Decoder<>();
+        decoder.decode(encoded);
+        assertThrows(IOException.class, () -> decoder.decode(new byte[]{1, 0, 0, 1, 0}));
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), decoder.decode(new byte[]{1, 0, 0, 0, 0, 0})), "A broken delta keeps the last tree");
+    }
+
+    @Test
+    public void testEncodeFailure() throws URISyntaxException, IOException {
+        CommandDispatcher<Object> dispatcher = load();
+        TreeCodec.Encoder<Object> encoder = new TreeCodec.Encoder<>();
+        TreeCodec.Decoder<Object> decoder = new TreeCodec.Decoder<>();
+        decoder.decode(encoder.encode(dispatcher.getRoot(), null));
+
+        CommandDispatcher<Object> unsupported = load();
+        unsupported.register(literal("custom").then(argument("value", (ArgumentType<Integer>) reader -> 0)));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(unsupported.getRoot(), null), "Argument types without a parser cannot be sent");
+
+        dispatcher.register(literal("added").executes(context -> 1));
+        byte[] next = encoder.encode(dispatcher.getRoot(), null);
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), new TreeCodec.Decoder<>().decode(next)), "The tree after a failure is sent in full");
+        assertTrue(CommandNodeEquals.equals(dispatcher.getRoot(), decoder.decode(next)));
+    }
+}